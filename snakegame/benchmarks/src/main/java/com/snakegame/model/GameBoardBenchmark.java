@@ -0,0 +1,127 @@
+package com.snakegame.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Các đường nóng của GameBoard, tham số hóa theo kích thước bàn và độ dài rắn; generateObstacles()
+ * thêm tham số độ khó (chỉ nó đọc độ khó - các benchmark khác chạy không có chướng ngại vật).
+ * Nằm cùng package với GameBoard để gọi được generateFood()/generateObstacles() (package-private).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class BoardState {
+        @Param({"20", "100", "500", "1000"})
+        public int boardSize;
+
+        @Param({"1", "100", "10000"})
+        public int snakeLength;
+
+        GameBoard board;
+        int[] cycle;
+        GameBoard.Direction[] next;
+        int length;
+        int turn;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            // độ khó chỉ quyết định số chướng ngại vật, mà layout() bỏ hết chướng ngại vật → cố định
+            board = new GameBoard(GameBoard.Difficulty.MEDIUM, false, boardSize, boardSize, 42L);
+            cycle = SnakeLayouts.cycle(boardSize, boardSize);
+            next = SnakeLayouts.nextDirections(cycle, boardSize);
+            // chừa một nửa bàn trống để thức ăn còn chỗ
+            length = Math.max(1, Math.min(snakeLength, cycle.length / 2));
+            layout();
+        }
+
+        // Rắn nằm trên chu trình Hamilton; chướng ngại vật bị bỏ để rắn đi mãi không chết
+        void layout() {
+            layout(board);
+        }
+
+        void layout(GameBoard target) {
+            GameBoard.Direction heading = length >= 2
+                    ? SnakeLayouts.between(cycle[length - 2], cycle[length - 1], boardSize)
+                    : next[cycle[0]];
+            target.layoutSnake(SnakeLayouts.snakeOnCycle(cycle, length), heading);
+        }
+    }
+
+    /** Bàn riêng cho generateObstacles(): cùng kích thước / rắn như BoardState, thêm độ khó. */
+    @State(Scope.Thread)
+    public static class ObstacleState {
+        @Param({"EASY", "MEDIUM", "HARD"})
+        public GameBoard.Difficulty difficulty;
+
+        GameBoard board;
+
+        @Setup(Level.Trial)
+        public void setUp(BoardState s) {
+            board = new GameBoard(difficulty, false, s.boardSize, s.boardSize, 42L);
+            s.layout(board);
+        }
+    }
+
+    @Benchmark
+    public void update(BoardState s) {
+        GameBoard board = s.board;
+        board.setDirection(s.next[board.getSnakeBody().getHeadCell()]);
+        board.update();
+        // rắn ăn dần tới khi kín bàn → đặt lại (hiếm, chi phí được chia đều)
+        if (board.isGameOver()) s.layout();
+    }
+
+    @Benchmark
+    public GameBoard.Point generateFood(BoardState s) {
+        s.board.generateFood();
+        return s.board.getFood();
+    }
+
+    @Benchmark
+    public List<GameBoard.Point> generateObstacles(ObstacleState s) {
+        s.board.generateObstacles();
+        return s.board.getObstacles();
+    }
+
+    @Benchmark
+    public List<GameBoard.Point> getSnake(BoardState s) {
+        return s.board.getSnake();
+    }
+
+    @Benchmark
+    public void setDirection(BoardState s, Blackhole bh) {
+        // Không có update() nên hướng hiện tại không đổi; hàng đợi được xóa sau mỗi lần gọi để
+        // lượt rẽ luôn so với hướng hiện tại (không phải lượt đã xếp trước đó). Hai hướng vuông góc
+        // luân phiên nên luôn được nhận: đo đường offer() thành công, không phải đường bị bỏ.
+        // Xóa ngay trong benchmark (hai phép gán) thay vì @Setup(Level.Invocation), vốn tốn hơn cả
+        // thứ đang đo ở cỡ vài ns.
+        GameBoard.Direction heading = s.board.getDirection();
+        boolean vertical = heading == GameBoard.Direction.UP || heading == GameBoard.Direction.DOWN;
+        GameBoard.Direction d = vertical
+                ? ((s.turn++ & 1) == 0 ? GameBoard.Direction.LEFT : GameBoard.Direction.RIGHT)
+                : ((s.turn++ & 1) == 0 ? GameBoard.Direction.UP : GameBoard.Direction.DOWN);
+        s.board.setDirection(d);
+        bh.consume(s.board.getInputQueue().size());
+        s.board.getInputQueue().clear();
+    }
+}
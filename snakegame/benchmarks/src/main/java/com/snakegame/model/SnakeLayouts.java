@@ -0,0 +1,52 @@
+package com.snakegame.model;
+
+/**
+ * Chu trình Hamilton kiểu "luống cày" trên bàn có chiều cao chẵn: hàng chẵn đi sang phải,
+ * hàng lẻ đi sang trái trong các cột 1..w-1, rồi quay về theo cột 0.
+ * Rắn bám theo chu trình này không bao giờ tự cắn, nên benchmark chạy được rắn dài tùy ý.
+ */
+final class SnakeLayouts {
+    private SnakeLayouts() {}
+
+    /** Các ô theo thứ tự trên chu trình, bắt đầu từ (0, 0). */
+    static int[] cycle(int w, int h) {
+        if (h % 2 != 0 || w < 2) throw new IllegalArgumentException("Cần chiều cao chẵn và chiều rộng >= 2");
+        int[] order = new int[w * h];
+        int n = 0;
+        order[n++] = 0;
+        for (int y = 0; y < h; y++) {
+            if (y % 2 == 0) {
+                for (int x = 1; x < w; x++) order[n++] = y * w + x;
+            } else {
+                for (int x = w - 1; x >= 1; x--) order[n++] = y * w + x;
+            }
+        }
+        for (int y = h - 1; y >= 1; y--) order[n++] = y * w;
+        return order;
+    }
+
+    /** Với mỗi ô: hướng đi tới ô kế tiếp trên chu trình. */
+    static GameBoard.Direction[] nextDirections(int[] cycle, int w) {
+        GameBoard.Direction[] next = new GameBoard.Direction[cycle.length];
+        for (int i = 0; i < cycle.length; i++) {
+            next[cycle[i]] = between(cycle[i], cycle[(i + 1) % cycle.length], w);
+        }
+        return next;
+    }
+
+    /** Rắn dài length nằm trên chu trình, đuôi ở cycle[0]; trả về các ô tính từ đầu. */
+    static int[] snakeOnCycle(int[] cycle, int length) {
+        int[] body = new int[length];
+        for (int i = 0; i < length; i++) body[i] = cycle[length - 1 - i];
+        return body;
+    }
+
+    static GameBoard.Direction between(int from, int to, int w) {
+        int dx = to % w - from % w;
+        int dy = to / w - from / w;
+        if (dx == 1) return GameBoard.Direction.RIGHT;
+        if (dx == -1) return GameBoard.Direction.LEFT;
+        if (dy == 1) return GameBoard.Direction.DOWN;
+        return GameBoard.Direction.UP;
+    }
+}
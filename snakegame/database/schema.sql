@@ -31,3 +31,17 @@ INSERT INTO players (player_name, score, difficulty) VALUES
 ('Player3', 300, 'HARD'),
 ('Player4', 120, 'EASY'),
 ('Player5', 250, 'MEDIUM');
+
+-- Điền high_scores từ players (chạy lại nhiều lần vẫn đúng): điểm cao nhất của mỗi người theo độ khó,
+-- cùng điểm thì lấy ngày đạt được sớm nhất. Sau đó game tự cập nhật high_scores mỗi lần lưu điểm.
+INSERT INTO high_scores (player_name, score, difficulty, play_date)
+SELECT p.player_name, p.score, p.difficulty, MIN(p.play_date)
+FROM players p
+JOIN (SELECT difficulty, player_name, MAX(score) AS best
+      FROM players
+      GROUP BY difficulty, player_name) b
+  ON b.difficulty = p.difficulty AND b.player_name = p.player_name AND b.best = p.score
+GROUP BY p.difficulty, p.player_name, p.score
+ON DUPLICATE KEY UPDATE
+    play_date = IF(VALUES(score) > score, VALUES(play_date), play_date),
+    score = GREATEST(score, VALUES(score));
@@ -1,35 +1,66 @@
 package com.snakegame;
 
+import com.snakegame.audio.AudioBank;
+import com.snakegame.controller.SceneNavigator;
+import com.snakegame.database.DatabaseManager;
+import com.snakegame.jfr.FlightRecording;
+import com.snakegame.render.SkinLibrary;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
 public class Main extends Application {
-    
+    @Override
+    public void init() {
+        // Application.init() chạy sau khi toolkit JavaFX đã khởi động xong
+        StartupProfile.mark(StartupProfile.Phase.TOOLKIT_READY);
+        // -Dsnakegame.jfr=file.jfr: ghi JFR (JDK default + event snakegame.*) tới lúc thoát
+        FlightRecording.startIfRequested();
+    }
+
     @Override
     public void start(Stage primaryStage) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Menu.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
+            // giải mã skin mặc định trên luồng nền trong lúc người chơi còn ở menu
+            SkinLibrary.getInstance().load(SkinLibrary.DEFAULT_SKIN);
+            // giải mã hiệu ứng âm thanh một lần cho cả ứng dụng
+            AudioBank.getInstance().preload();
+            // nạp driver, mở kết nối và nạp sẵn bảng xếp hạng trên luồng nền trong lúc menu hiện lên
+            DatabaseManager.warmUp();
+
+            // một Scene cho mọi màn hình; mỗi FXML chỉ nạp một lần
+            SceneNavigator navigator = SceneNavigator.install(primaryStage);
+            navigator.show(SceneNavigator.Screen.MENU);
+            StartupProfile.mark(StartupProfile.Phase.MENU_LOADED);
             
             primaryStage.setTitle("Snake Game");
-            primaryStage.setScene(scene);
             primaryStage.setResizable(false);
             // Use standard window decoration for crisp edges
             primaryStage.initStyle(StageStyle.DECORATED);
             primaryStage.centerOnScreen();
             primaryStage.show();
+            StartupProfile.markFirstFrame(primaryStage.getScene());
+            // nạp trước các màn hình còn lại sau khi menu đã hiện, lần bấm đầu tiên cũng chuyển ngay
+            Platform.runLater(navigator::preloadAll);
+            if (TrainingRun.isEnabled()) {
+                Platform.runLater(() -> TrainingRun.start(navigator, primaryStage.getScene()));
+            }
             
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
+    @Override
+    public void stop() {
+        // ghi nốt điểm còn trong hàng đợi, đóng pool kết nối
+        DatabaseManager.shutdown();
+    }
+
     public static void main(String[] args) {
+        StartupProfile.mark(StartupProfile.Phase.MAIN);
         launch(args);
     }
 }
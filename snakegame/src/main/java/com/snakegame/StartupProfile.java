@@ -0,0 +1,112 @@
+package com.snakegame;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Các mốc thời gian khởi động, tính bằng ms từ lúc tiến trình JVM bắt đầu:
+ * main() → toolkit JavaFX sẵn sàng (Application.init) → FXML menu đã nạp → khung hình đầu tiên.
+ *
+ * - "Khung hình đầu tiên" là pulse đầu tiên sau khi CSS và layout của menu đã xong, ngay trước khi vẽ.
+ * - In một dòng tổng kết khi có khung hình đầu tiên; đặt -Dsnakegame.startup.log=file để ghi thêm
+ *   một dòng CSV mỗi lần khởi động (so sánh chạy thường với chạy có archive CDS trên kiosk).
+ *   Khi có -Dsnakegame.startup.log, thời gian nạp từng FXML cũng được in ra (fxmlLoaded).
+ * - -Dsnakegame.startup.mode=... chỉ là nhãn ghi kèm (profile Maven "cds" đặt là cds).
+ * - Khởi chạy thẳng Application (không qua main) thì mốc main để trống.
+ */
+public final class StartupProfile {
+    public enum Phase {
+        MAIN("main"),
+        TOOLKIT_READY("toolkit"),
+        MENU_LOADED("menu FXML"),
+        FIRST_FRAME("first frame");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final long CLASS_INIT_NANOS = System.nanoTime();
+    // JVM start → lúc lớp này được nạp; ProcessHandle rẻ hơn nhiều so với nạp JMX (RuntimeMXBean) lúc khởi động
+    private static final long JVM_TO_INIT_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(start -> Math.max(0, System.currentTimeMillis() - start.toEpochMilli()))
+            .orElse(0L);
+    private static final long[] MARKS = new long[Phase.values().length];
+
+    static {
+        java.util.Arrays.fill(MARKS, -1);
+    }
+
+    private StartupProfile() {
+    }
+
+    public static long millisSinceJvmStart() {
+        return JVM_TO_INIT_MILLIS + (System.nanoTime() - CLASS_INIT_NANOS) / 1_000_000;
+    }
+
+    /** Ghi mốc; chỉ lần gọi đầu tiên của mỗi mốc được giữ. */
+    public static synchronized void mark(Phase phase) {
+        if (MARKS[phase.ordinal()] < 0) MARKS[phase.ordinal()] = millisSinceJvmStart();
+    }
+
+    public static synchronized long get(Phase phase) {
+        return MARKS[phase.ordinal()];
+    }
+
+    /** Đang đo khởi động chi tiết (-Dsnakegame.startup.log). */
+    public static boolean isProfiling() {
+        String log = System.getProperty("snakegame.startup.log");
+        return log != null && !log.isBlank();
+    }
+
+    /** Thời gian nạp một FXML (SceneNavigator); chỉ in khi isProfiling(). */
+    public static void fxmlLoaded(String fxml, long nanos) {
+        if (isProfiling()) System.out.println("Startup: loaded " + fxml + " in " + nanos / 1_000_000 + " ms");
+    }
+
+    /** Ghi mốc FIRST_FRAME ở pulse đầu tiên của scene rồi in tổng kết. Gọi trên luồng JavaFX sau stage.show(). */
+    public static void markFirstFrame(Scene scene) {
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            if (get(Phase.FIRST_FRAME) >= 0) return;
+            mark(Phase.FIRST_FRAME);
+            // không gỡ listener giữa lúc Scene đang duyệt danh sách listener
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(listener[0]));
+            report();
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static synchronized void report() {
+        StringBuilder line = new StringBuilder("Startup (ms từ lúc JVM chạy):");
+        for (Phase phase : Phase.values()) {
+            line.append(' ').append(phase.label).append('=').append(format(MARKS[phase.ordinal()]));
+        }
+        String mode = System.getProperty("snakegame.startup.mode", "default");
+        System.out.println(line.append(" mode=").append(mode));
+
+        if (!isProfiling()) return;
+        String log = System.getProperty("snakegame.startup.log");
+        StringBuilder csv = new StringBuilder().append(Instant.now()).append(',').append(mode);
+        for (long mark : MARKS) csv.append(',').append(format(mark));
+        try {
+            Files.writeString(Path.of(log), csv.append(System.lineSeparator()), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Không ghi được " + log + ": " + e.getMessage());
+        }
+    }
+
+    private static String format(long mark) {
+        return mark < 0 ? "-" : Long.toString(mark);
+    }
+}
@@ -0,0 +1,114 @@
+package com.snakegame;
+
+import com.snakegame.controller.SceneNavigator;
+import com.snakegame.controller.SceneNavigator.Screen;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.util.Duration;
+
+/**
+ * Chạy thử tự động để tạo archive CDS (-XX:ArchiveClassesAtExit): menu → ván 2 người → game over
+ * → menu → bảng xếp hạng, rồi thoát. Bấm đúng các nút và phím như người chơi, nên các lớp được nạp
+ * giống một lần chơi thật. Không lưu điểm, bảng xếp hạng thật không bị ảnh hưởng.
+ *
+ * Bật bằng -Dsnakegame.training=true (profile Maven "cds-train").
+ */
+final class TrainingRun {
+    private static final Duration STEP = Duration.millis(200);
+    private static final int MAX_STEPS = 300; // 60 giây: kẹt ở đâu đó thì vẫn thoát để archive được ghi
+
+    private enum State { START_GAME, PLAYING, GAME_OVER, HIGH_SCORES, DONE }
+
+    // phím gửi ở các bước đầu của ván: rẽ, tạm dừng, tiếp tục, rẽ lại; sau đó hai rắn đi thẳng vào tường
+    private static final KeyCode[][] KEYS = {
+            {KeyCode.W, KeyCode.UP}, {KeyCode.SPACE}, {KeyCode.SPACE}, {KeyCode.D, KeyCode.LEFT}
+    };
+
+    private final SceneNavigator navigator;
+    private final Scene scene;
+    private final long startNanos = System.nanoTime();
+    private final Timeline timeline;
+    private State state = State.START_GAME;
+    private int steps;
+    private int stateSteps;
+
+    private TrainingRun(SceneNavigator navigator, Scene scene) {
+        this.navigator = navigator;
+        this.scene = scene;
+        this.timeline = new Timeline(new KeyFrame(STEP, e -> step()));
+        this.timeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean("snakegame.training");
+    }
+
+    static void start(SceneNavigator navigator, Scene scene) {
+        System.out.println("Training run: menu → 2 người → game over → bảng xếp hạng");
+        new TrainingRun(navigator, scene).timeline.play();
+    }
+
+    private void step() {
+        if (++steps > MAX_STEPS) {
+            System.err.println("Training run: quá " + MAX_STEPS + " bước ở trạng thái " + state + ", thoát");
+            finish();
+            return;
+        }
+        stateSteps++;
+        switch (state) {
+            case START_GAME -> {
+                fire("#twoPlayersButton");
+                next(State.PLAYING);
+            }
+            case PLAYING -> {
+                if (navigator.getCurrent() == Screen.GAME_OVER) {
+                    next(State.GAME_OVER);
+                } else if (stateSteps <= KEYS.length) {
+                    for (KeyCode key : KEYS[stateSteps - 1]) press(key);
+                }
+            }
+            case GAME_OVER -> {
+                fire("#menuButton");
+                next(State.HIGH_SCORES);
+            }
+            case HIGH_SCORES -> {
+                if (stateSteps == 1) fire("#highScoreButton");
+                else if (stateSteps > 5) finish(); // chờ trang đầu của bảng xếp hạng
+            }
+            case DONE -> { }
+        }
+    }
+
+    private void next(State next) {
+        state = next;
+        stateSteps = 0;
+    }
+
+    private void fire(String selector) {
+        Node node = scene.getRoot().lookup(selector);
+        if (node instanceof Button) {
+            ((Button) node).fire();
+        } else {
+            System.err.println("Training run: không thấy " + selector + " trên " + navigator.getCurrent());
+        }
+    }
+
+    private void press(KeyCode key) {
+        Event.fireEvent(scene, new KeyEvent(KeyEvent.KEY_PRESSED, "", "", key, false, false, false, false));
+    }
+
+    private void finish() {
+        state = State.DONE;
+        timeline.stop();
+        System.out.println("Training run: xong sau " + (System.nanoTime() - startNanos) / 1_000_000 + " ms");
+        Platform.exit(); // JVM ghi archive CDS khi thoát
+    }
+}
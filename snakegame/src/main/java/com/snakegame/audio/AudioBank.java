@@ -0,0 +1,175 @@
+package com.snakegame.audio;
+
+import javafx.scene.media.AudioClip;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Âm thanh dùng chung cho cả ứng dụng: mỗi hiệu ứng được giải mã một lần thành AudioClip trên luồng nền
+ * "audio-loader" lúc khởi động, sau đó play() chỉ phát lại từ bộ nhớ (không dùng MediaPlayer, vốn
+ * phải mở lại media và có độ trễ lúc bắt đầu phát).
+ *
+ * - Mỗi hiệu ứng có số tiếng (voice) tối đa cùng lúc. AudioClip không báo khi phát xong nên thời điểm
+ *   kết thúc được ước lượng từ độ dài đọc trong header WAV.
+ * - Hết voice: hiệu ứng restart thì dừng mọi tiếng cũ rồi phát lại từ đầu (DIE), còn lại thì bỏ lần
+ *   phát mới (EAT: ăn liên tục trong ván 2 người không chồng hàng chục tiếng lên nhau).
+ * - Chưa nạp xong hoặc không nạp được → play() không làm gì.
+ */
+public class AudioBank {
+    private static final String SOUND_PATH = "/Sound/";
+    private static final long DEFAULT_DURATION_NANOS = 1_000_000_000L; // header WAV không đọc được
+
+    public enum Sound {
+        EAT("eat.wav", 3, false),
+        DIE("die.wav", 1, true);
+
+        private final String file;
+        private final int maxVoices;
+        private final boolean restart;
+
+        Sound(String file, int maxVoices, boolean restart) {
+            this.file = file;
+            this.maxVoices = maxVoices;
+            this.restart = restart;
+        }
+    }
+
+    // một hiệu ứng đã giải mã; chỉ dùng trên luồng JavaFX sau khi nạp xong
+    private static final class Voices {
+        final AudioClip clip;
+        final long durationNanos;
+        final long[] endNanos; // thời điểm (ước lượng) từng voice phát xong
+        long played;
+        long dropped;
+
+        Voices(AudioClip clip, long durationNanos, int maxVoices) {
+            this.clip = clip;
+            this.durationNanos = durationNanos;
+            this.endNanos = new long[maxVoices];
+        }
+    }
+
+    private static AudioBank instance;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "audio-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<Sound, Voices> voices = new ConcurrentHashMap<>();
+    private CompletableFuture<Void> loading;
+
+    private AudioBank() {
+    }
+
+    public static synchronized AudioBank getInstance() {
+        if (instance == null) {
+            instance = new AudioBank();
+        }
+        return instance;
+    }
+
+    // ========== LOAD ==========
+    /** Giải mã mọi hiệu ứng trên luồng nền; gọi nhiều lần vẫn chỉ nạp một lần. */
+    public synchronized CompletableFuture<Void> preload() {
+        if (loading == null) {
+            loading = CompletableFuture.runAsync(() -> {
+                long start = System.nanoTime();
+                for (Sound sound : Sound.values()) load(sound);
+                System.out.println("Audio: " + voices.size() + "/" + Sound.values().length + " sound(s) loaded in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            }, loader);
+        }
+        return loading;
+    }
+
+    private void load(Sound sound) {
+        URL url = AudioBank.class.getResource(SOUND_PATH + sound.file);
+        if (url == null) {
+            System.out.println("⚠️ Không tìm thấy âm thanh: " + SOUND_PATH + sound.file);
+            return;
+        }
+        try {
+            long duration = wavDurationNanos(url);
+            voices.put(sound, new Voices(new AudioClip(url.toExternalForm()), duration, sound.maxVoices));
+        } catch (Exception e) {
+            System.out.println("⚠️ Không thể tải âm thanh " + sound.file + ": " + e.getMessage());
+        }
+    }
+
+    // duyệt các chunk RIFF: "fmt " cho byteRate, "data" cho số byte mẫu; LIST/INFO... được bỏ qua
+    private static long wavDurationNanos(URL url) throws IOException {
+        byte[] bytes;
+        try (InputStream in = url.openStream()) {
+            bytes = in.readAllBytes();
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 12 || buf.getInt(0) != 0x46464952 || buf.getInt(8) != 0x45564157) { // "RIFF", "WAVE"
+            return DEFAULT_DURATION_NANOS;
+        }
+        long byteRate = 0;
+        long pos = 12;
+        while (pos + 8 <= bytes.length) {
+            int id = buf.getInt((int) pos);
+            long size = buf.getInt((int) pos + 4) & 0xFFFFFFFFL;
+            if (id == 0x20746D66 && pos + 20 <= bytes.length) { // "fmt "
+                byteRate = buf.getInt((int) pos + 16) & 0xFFFFFFFFL;
+            } else if (id == 0x61746164) { // "data"
+                if (byteRate == 0) break;
+                size = Math.min(size, bytes.length - pos - 8); // file bị cắt: chỉ tính phần có thật
+                return size * 1_000_000_000L / byteRate;
+            }
+            pos += 8 + size + (size & 1); // chunk lẻ byte có một byte đệm
+        }
+        return DEFAULT_DURATION_NANOS;
+    }
+
+    // ========== PLAY ==========
+    /** Phát hiệu ứng; gọi trên luồng JavaFX. */
+    public void play(Sound sound) {
+        Voices v = voices.get(sound);
+        if (v == null) return;
+        long now = System.nanoTime();
+        int free = -1;
+        for (int i = 0; i < v.endNanos.length; i++) {
+            if (v.endNanos[i] - now <= 0) {
+                free = i;
+                break;
+            }
+        }
+        if (free < 0) {
+            if (!sound.restart) {
+                v.dropped++;
+                return;
+            }
+            v.clip.stop(); // dừng mọi tiếng đang phát của clip này
+            Arrays.fill(v.endNanos, now);
+            free = 0;
+        }
+        v.endNanos[free] = now + v.durationNanos;
+        v.played++;
+        v.clip.play();
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner("; ", "AudioBank{", "}");
+        for (Sound sound : Sound.values()) {
+            Voices v = voices.get(sound);
+            if (v == null) continue;
+            sj.add(String.format("%s %.2fs: played=%d, dropped=%d", sound, v.durationNanos / 1e9, v.played, v.dropped));
+        }
+        return sj.toString();
+    }
+}
@@ -1,168 +1,235 @@
 package com.snakegame.controller;
 
+import com.snakegame.audio.AudioBank;
+import com.snakegame.jfr.GameTickEvent;
+import com.snakegame.jfr.RenderPassEvent;
+import com.snakegame.metrics.GameMetrics;
+import com.snakegame.model.BoardView;
+import com.snakegame.model.DirtyCells;
 import com.snakegame.model.GameBoard;
+import com.snakegame.model.InputQueue;
+import com.snakegame.model.SnakeBody;
+import com.snakegame.render.SkinLibrary;
+import com.snakegame.render.Sprite;
+import com.snakegame.render.SpriteAtlas;
+import com.snakegame.render.SpriteAtlasCache;
 import javafx.application.Platform;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
-import javafx.stage.Stage;
-import javafx.util.Duration;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.scene.media.AudioClip;
-import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.List;
 
-public class GameController {
+public class GameController implements SceneNavigator.Lifecycle {
 
     @FXML
     private Canvas gameCanvas;
     @FXML
     private Label scoreLabel, scoreLabel2, difficultyLabel;
     @FXML
+    private Label metricsLabel; // overlay hiệu năng, bật/tắt bằng F3
+    @FXML
     private Button pauseButton, menuButton, skinButton;
 
     private GameBoard gameBoard;
-    private Timeline gameLoop;
+    private GameLoop gameLoop;
     private boolean isPaused = false;
     private GraphicsContext gc;
     private boolean twoPlayer;
     private int previousScore = 0; // để kiểm tra ăn mồi
 
-    private AudioClip eatSound;
-    private MediaPlayer diePlayer;
+    private static final AudioBank AUDIO = AudioBank.getInstance();
     private boolean deathSoundPlayed = false; // đảm bảo âm thanh chết chỉ phát 1 lần
 
+    private static final long OVERLAY_REFRESH_NANOS = 250_000_000L;
+    // in tóm tắt hiệu năng ra console khi hết ván; mặc định tắt, chơi bình thường dùng overlay F3
+    private static final boolean METRICS_VERBOSE = Boolean.getBoolean("snakegame.metrics.verbose");
+    private final GameMetrics metrics = new GameMetrics();
+    private long lastOverlayUpdate;
+
     private double cellSize = 25;
+    private static final double MIN_CELL_SIZE = 12;      // bàn cần ô nhỏ hơn thì chuyển sang chế độ camera
+    private static final double VIEWPORT_CELL_SIZE = 25; // cỡ ô khi dùng camera
+    private int viewX, viewY, viewCols, viewRows;         // vùng bàn đang hiển thị, tính theo ô
+    private long lastDrawnVersion = -1; // phiên bản bàn chơi của khung hình đang hiển thị
+    // nội suy: ô đầu/đuôi trước tick gần nhất (chỉ số 0 = P1, 1 = P2) và các ô lớp nội suy đang phủ
+    private final int[] prevHead = {-1, -1};
+    private final int[] prevTail = {-1, -1};
+    private final int[] overlayCells = new int[8];
+    private int overlayCount;
+    private final int[] repaintCells = new int[16];
+    private int repaintCount;
+    private int ticksSinceRender;
+    private boolean fullRedraw = true;  // khung hình kế tiếp phải vẽ lại toàn bộ (skin, resize, reset)
+    private int drawCalls;              // số lần vẽ ô/sprite/ảnh trong lượt drawGame() hiện tại (JFR)
+    // JFR: chỉ để hỏi isEnabled(); khi không ghi, tick / khung hình không cấp phát event nào
+    private static final GameTickEvent TICK_PROBE = new GameTickEvent();
+    private static final RenderPassEvent RENDER_PROBE = new RenderPassEvent();
+    private static final Color CHECKER_LIGHT = Color.web("#1e2a31");
+    private static final Color CHECKER_DARK = Color.web("#25333b");
+    private static final Color WALL_COLOR = Color.web("#444");
+    private static final Color OBSTACLE_COLOR = Color.web("#555");
+    private static final Color SNAKE_COLOR = Color.web("#2E8B57");
+    private static final Color SNAKE2_COLOR = Color.web("#4169E1");
+
+    // Lớp tĩnh (ô cờ + tường + chướng ngại vật) vẽ một lần vào ảnh, mỗi khung hình chỉ chép lại.
+    // Bàn lớn hơn MAX_STATIC_LAYER_SIZE px (chế độ camera) thì vẽ trực tiếp các ô trong khung nhìn.
+    private static final double MAX_STATIC_LAYER_SIZE = 4096;
+    private WritableImage staticLayer;
+    private long staticLayerVersion = -1;
+    private double staticLayerCellSize;
     private static final int BOARD_WIDTH = 20;
     private static final int BOARD_HEIGHT = 20;
 
-    private String[] availableSkins = new String[]{"default"};
-    private int currentSkinIndex = 0;
-    private final Map<String, Image> images = new HashMap<>();
+    private static final SkinLibrary SKINS = SkinLibrary.getInstance();
+    private static final Image[] NO_SPRITES = new Image[Sprite.values().length];
+    private String currentSkin = SkinLibrary.DEFAULT_SKIN;
+    // atlas dùng chung, theo skin và cỡ ô
+    private static final SpriteAtlasCache SPRITES = new SpriteAtlasCache();
+    private static final Sprite[] HEAD_SPRITES = new Sprite[GameBoard.Direction.values().length];
+    static {
+        HEAD_SPRITES[GameBoard.Direction.UP.ordinal()] = Sprite.HEAD_UP;
+        HEAD_SPRITES[GameBoard.Direction.DOWN.ordinal()] = Sprite.HEAD_DOWN;
+        HEAD_SPRITES[GameBoard.Direction.LEFT.ordinal()] = Sprite.HEAD_LEFT;
+        HEAD_SPRITES[GameBoard.Direction.RIGHT.ordinal()] = Sprite.HEAD_RIGHT;
+    }
+    private SpriteAtlas atlas;
     private int previousScoreP1 = 0;
     private int previousScoreP2 = 0;
 
 
+    // phím của cả màn hình (kể cả khi nút đang giữ focus); chỉ gắn vào Scene khi màn Game đang hiện
+    private final EventHandler<KeyEvent> keyFilter = e -> {
+        if (e.getCode() == KeyCode.SPACE) {
+            togglePause();
+            e.consume();
+        } else if (e.getCode() == KeyCode.F3) {
+            toggleMetrics();
+            e.consume();
+        } else {
+            handleKeyPress(e);
+        }
+    };
+
     // ========== INIT ==========
+    // FXMLLoader gọi một lần; controller được SceneNavigator dùng lại cho mọi ván sau
+    @FXML
+    private void initialize() {
+        gc = gameCanvas.getGraphicsContext2D();
+        AUDIO.preload(); // thường đã nạp xong từ lúc khởi động
+        // canvas đổi kích thước → ô cũ không còn đúng chỗ, vẽ lại toàn bộ
+        gameCanvas.widthProperty().addListener((obs, o, n) -> { if (gameBoard != null) { invalidateFrame(); drawGame(); } });
+        gameCanvas.heightProperty().addListener((obs, o, n) -> { if (gameBoard != null) { invalidateFrame(); drawGame(); } });
+        for (Button b : new Button[]{pauseButton, menuButton, skinButton}) {
+            if (b != null) b.setFocusTraversable(false);
+        }
+        gameCanvas.setFocusTraversable(true);
+    }
+
+    @Override
+    public void onShow(Scene scene) {
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, keyFilter);
+    }
+
+    @Override
+    public void onHide(Scene scene) {
+        scene.removeEventFilter(KeyEvent.KEY_PRESSED, keyFilter);
+        if (gameLoop != null) gameLoop.stop();
+    }
+
     public void initializeGame(GameBoard.Difficulty difficulty) {
-        detectAvailableSkins();
+        this.twoPlayer = false;
         this.gameBoard = new GameBoard(difficulty);
-        this.gc = gameCanvas.getGraphicsContext2D();
         setupGame(difficulty);
     }
 
     public void initializeGame(GameBoard.Difficulty difficulty, boolean twoPlayer) {
-        detectAvailableSkins();
         this.twoPlayer = twoPlayer;
         this.gameBoard = new GameBoard(difficulty, twoPlayer);
-        this.gc = gameCanvas.getGraphicsContext2D();
+        setupGame(difficulty);
+    }
+
+    // bàn kích thước tùy ý (đấu trường)
+    public void initializeGame(GameBoard.Difficulty difficulty, boolean twoPlayer, int boardWidth, int boardHeight) {
+        this.twoPlayer = twoPlayer;
+        this.gameBoard = new GameBoard(difficulty, twoPlayer, boardWidth, boardHeight);
         setupGame(difficulty);
     }
 
     private void setupGame(GameBoard.Difficulty difficulty) {
+        if (gameLoop != null) gameLoop.stop();
+        resetFrameState();
         loadAssets();
-        loadSounds();
         updateUI();
-        setupKeyboardControls();
         setupGameLoop();
         drawGame();
+        Platform.runLater(() -> gameCanvas.requestFocus());
+        gameLoop.start();
+    }
 
-        Platform.runLater(() -> {
-            Scene scene = gameCanvas.getScene();
-            if (scene != null) {
-                scene.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
-                    if (e.getCode() == KeyCode.SPACE) {
-                        togglePause();
-                        e.consume();
-                    } else {
-                        handleKeyPress(e);
-                    }
-                });
-            }
-
-            for (Button b : new Button[]{pauseButton, menuButton, skinButton}) {
-                if (b != null) b.setFocusTraversable(false);
-            }
-
-            gameCanvas.setFocusTraversable(true);
-            gameCanvas.requestFocus();
-        });
-
-        gameLoop.play();
+    // trạng thái của ván trước: bàn mới đếm version/layoutVersion lại từ đầu nên mọi bộ nhớ đệm phải bỏ
+    private void resetFrameState() {
+        isPaused = false;
+        pauseButton.setText("TẠM DỪNG");
+        scoreLabel2.setText("P2: 0");
+        deathSoundPlayed = false;
+        lastDrawnVersion = -1;
+        staticLayerVersion = -1;
+        prevHead[0] = prevHead[1] = -1;
+        prevTail[0] = prevTail[1] = -1;
+        overlayCount = 0;
+        repaintCount = 0;
+        ticksSinceRender = 0;
+        fullRedraw = true;
+        metrics.reset(gameBoard.getDifficulty().getSpeed());
+        lastOverlayUpdate = 0;
     }
 
     // ========== ASSETS ==========
+    // chọn atlas theo skin hiện tại và cỡ ô; skin chưa giải mã xong thì giữ atlas cũ,
+    // giải mã trên luồng nền rồi vẽ lại - không bao giờ chặn khung hình
     private void loadAssets() {
-        images.clear();
-        String[] names = {
-                "apple.png", "head_up.png", "head_down.png", "head_left.png", "head_right.png",
-                "tail_up.png", "tail_down.png", "tail_left.png", "tail_right.png",
-                "body_horizontal.png", "body_vertical.png",
-                "body_topleft.png", "body_topright.png", "body_bottomleft.png", "body_bottomright.png"
-        };
-
-        String skinPath = (currentSkinIndex > 0)
-                ? "/com/snakegame/assets/skin/" + availableSkins[currentSkinIndex] + "/"
-                : "/com/snakegame/assets/";
-
-        for (String n : names) {
-            Image img = null;
-            try (var is = getClass().getResourceAsStream(skinPath + n)) {
-                if (is != null) img = new Image(is);
-                else {
-                    var def = getClass().getResourceAsStream("/com/snakegame/assets/" + n);
-                    if (def != null) img = new Image(def);
-                }
-            } catch (Exception ignored) {}
-
-            if (img == null) {
-                File f1 = new File("src/main/resources/com/snakegame/assets/skin/" + availableSkins[currentSkinIndex] + "/" + n);
-                File f2 = new File("src/main/resources/com/snakegame/assets/" + n);
-                if (f1.exists()) img = new Image("file:" + f1.getPath());
-                else if (f2.exists()) img = new Image("file:" + f2.getPath());
-            }
-
-            if (img != null) images.put(n, img);
-            else System.out.println("⚠️ Không thể tải ảnh: " + n);
+        int spriteSize = (int) Math.round(cellSize - 2);
+        Image[] sources = SKINS.getIfLoaded(currentSkin);
+        if (sources == null) {
+            String skin = currentSkin;
+            SKINS.load(skin).thenRun(() -> Platform.runLater(() -> onSkinLoaded(skin)));
+            if (atlas != null && atlas.getSpriteSize() == spriteSize) return;
+            sources = NO_SPRITES; // chưa có ảnh nào → vẽ hình thay thế
         }
+        atlas = SPRITES.get(currentSkin, sources, spriteSize);
     }
 
-    private void detectAvailableSkins() {
-        File skinDir = new File("src/main/resources/com/snakegame/assets/skin");
-        if (!skinDir.exists()) skinDir = new File("src/main/java/com/snakegame/assets/skin");
-
-        if (skinDir.exists() && skinDir.isDirectory()) {
-            var dirs = skinDir.listFiles(File::isDirectory);
-            if (dirs != null && dirs.length > 0) {
-                availableSkins = new String[dirs.length + 1];
-                availableSkins[0] = "default";
-                for (int i = 0; i < dirs.length; i++) availableSkins[i + 1] = dirs[i].getName();
-                return;
-            }
-        }
-        availableSkins = new String[]{"default"};
+    private void onSkinLoaded(String skin) {
+        if (!skin.equals(currentSkin) || gc == null) return; // đã đổi sang skin khác trong lúc chờ
+        loadAssets();
+        skinButton.setText("SKIN: " + currentSkin);
+        invalidateFrame();
+        drawGame();
     }
 
     @FXML
     private void changeSkin() {
-        detectAvailableSkins();
-        currentSkinIndex = (currentSkinIndex + 1) % availableSkins.length;
+        List<String> skins = SKINS.getSkinNames(); // một bản chụp cho cả hai lần tra (watcher có thể thay danh sách)
+        int index = (skins.indexOf(currentSkin) + 1) % skins.size();
+        currentSkin = skins.get(index);
         loadAssets();
+        invalidateFrame();
         drawGame();
-        skinButton.setText("SKIN: " + availableSkins[currentSkinIndex]);
+        skinButton.setText(SKINS.getIfLoaded(currentSkin) != null ? "SKIN: " + currentSkin : "SKIN: ...");
+        // giải mã trước skin kế tiếp để lần bấm sau đổi ngay
+        SKINS.load(skins.get((index + 1) % skins.size()));
         Platform.runLater(() -> gameCanvas.requestFocus());
     }
 
@@ -172,72 +239,125 @@ public class GameController {
         previousScoreP1 = gameBoard.getScore();
         previousScoreP2 = gameBoard.isTwoPlayer() ? gameBoard.getScore2() : 0;
 
-        gameLoop = new Timeline(new KeyFrame(Duration.millis(gameBoard.getDifficulty().getSpeed()), e -> {
-            if (!isPaused && !gameBoard.isGameOver()) {
-                gameBoard.update();
-
-                int currentScoreP1 = gameBoard.getScore();
-                int currentScoreP2 = gameBoard.isTwoPlayer() ? gameBoard.getScore2() : 0;
-
-                // P1 ăn
-                if (currentScoreP1 > previousScoreP1 && eatSound != null) {
-                    eatSound.play();
-                }
-
-                // P2 ăn
-                if (gameBoard.isTwoPlayer() && currentScoreP2 > previousScoreP2 && eatSound != null) {
-                    eatSound.play();
-                }
-
-                Platform.runLater(() -> {
-                    drawGame();
-                    updateUI();
-                });
-
-                if (gameBoard.isGameOver()) {
-                    if (!deathSoundPlayed && diePlayer != null) {
-                        diePlayer.stop();
-                        diePlayer.play();
-                        deathSoundPlayed = true;
-                    }
-                    gameLoop.stop();
-                    Platform.runLater(this::showGameOver);
-                }
-
-                // Cập nhật lại điểm trước
-                previousScoreP1 = currentScoreP1;
-                previousScoreP2 = currentScoreP2;
-            }
-        }));
-        gameLoop.setCycleCount(Timeline.INDEFINITE);
+        // mô phỏng theo bước cố định (tốc độ độ khó), vẽ theo tần số màn hình
+        gameLoop = new GameLoop(gameBoard.getDifficulty().getSpeed(), this::tick, this::renderFrame);
     }
 
+    // một bước mô phỏng; chạy trên luồng JavaFX (AnimationTimer) nên không cần runLater để vẽ
+    private void tick() {
+        if (isPaused || gameBoard.isGameOver()) return;
+        rememberEnds(0, gameBoard.getSnakeBody());
+        if (gameBoard.getSnakeBody2() != null) rememberEnds(1, gameBoard.getSnakeBody2());
+        GameTickEvent tickEvent = TICK_PROBE.isEnabled() ? new GameTickEvent() : null;
+        if (tickEvent != null) tickEvent.begin();
+        long tickStart = metrics.startTick();
+        gameBoard.update();
+        metrics.endTick(tickStart);
+        if (tickEvent != null) {
+            tickEvent.end();
+            if (tickEvent.shouldCommit()) {
+                tickEvent.tick = gameBoard.getTick();
+                tickEvent.snakeLength = gameBoard.getSnakeBody().size();
+                tickEvent.snakeLength2 = gameBoard.getSnakeBody2() != null ? gameBoard.getSnakeBody2().size() : 0;
+                tickEvent.foodEaten = gameBoard.getScore() > previousScoreP1
+                        || (gameBoard.isTwoPlayer() && gameBoard.getScore2() > previousScoreP2);
+                tickEvent.collision = gameBoard.getCollision().name();
+                tickEvent.commit();
+            }
+        }
+        metrics.recordLength(gameBoard.getSnakeBody().size());
+        if (gameBoard.getSnakeBody2() != null) metrics.recordLength(gameBoard.getSnakeBody2().size());
+        ticksSinceRender++;
 
-    // ========== SOUND ==========
-    private void loadSounds() {
-        try {
-            // Sử dụng AudioClip cho âm thanh ngắn (eat)
-            var eatUrl = getClass().getResource("/sound/eat.wav");
-            if (eatUrl != null) eatSound = new AudioClip(eatUrl.toExternalForm());
+        int currentScoreP1 = gameBoard.getScore();
+        int currentScoreP2 = gameBoard.isTwoPlayer() ? gameBoard.getScore2() : 0;
+
+        // P1 ăn
+        if (currentScoreP1 > previousScoreP1) {
+            AUDIO.play(AudioBank.Sound.EAT);
+        }
 
-            // Sử dụng MediaPlayer cho âm thanh dài hoặc nhạc nền (die)
-            var dieUrl = getClass().getResource("/sound/die.wav");
-            if (dieUrl != null) diePlayer = new MediaPlayer(new Media(dieUrl.toExternalForm()));
+        // P2 ăn
+        if (gameBoard.isTwoPlayer() && currentScoreP2 > previousScoreP2) {
+            AUDIO.play(AudioBank.Sound.EAT);
+        }
 
-        } catch (Exception e) {
-            System.out.println("⚠️ Không thể tải âm thanh: " + e.getMessage());
+        if (gameBoard.isGameOver()) {
+            if (!deathSoundPlayed && !gameBoard.isBoardFull()) {
+                AUDIO.play(AudioBank.Sound.DIE);
+                deathSoundPlayed = true;
+            }
+            gameLoop.stop();
+            dumpMetrics();
+            // đổi scene sau khung hình hiện tại, không đổi giữa lúc đang vẽ
+            Platform.runLater(this::showGameOver);
         }
+
+        // Cập nhật lại điểm trước
+        previousScoreP1 = currentScoreP1;
+        previousScoreP2 = currentScoreP2;
     }
 
+    private void rememberEnds(int player, SnakeBody snake) {
+        prevHead[player] = snake.getHeadCell();
+        prevTail[player] = snake.getTailCell();
+    }
 
-    // ========== CONTROLS ==========
-    private void setupKeyboardControls() {
-        gameCanvas.setFocusTraversable(true);
-        gameCanvas.setOnKeyPressed(this::handleKeyPress);
+    // mỗi khung hình: vẽ các ô đổi (nếu vừa có tick) rồi vẽ đầu/đuôi nội suy
+    private void renderFrame(double alpha) {
+        long frameStart = metrics.startFrame();
+        if (gameBoard.getVersion() != lastDrawnVersion) updateUI();
+        // chạy bù nhiều tick trong một khung hình → lớp nội suy cũ có thể nằm sâu trong thân, vẽ lại cả bàn
+        if (ticksSinceRender > 1) fullRedraw = true;
+        ticksSinceRender = 0;
+        drawGame();
+        drawInterpolated(alpha);
+        metrics.endFrame(frameStart);
+        if (metricsLabel.isVisible() && frameStart - lastOverlayUpdate >= OVERLAY_REFRESH_NANOS) {
+            lastOverlayUpdate = frameStart;
+            metricsLabel.setText(metrics.overlayText());
+        }
+    }
+
+    // ========== METRICS ==========
+    private void toggleMetrics() {
+        metricsLabel.setVisible(!metricsLabel.isVisible());
+        if (metricsLabel.isVisible()) metricsLabel.setText(metrics.overlayText());
     }
 
+    // tóm tắt khi hết ván (vòng lặp, âm thanh, độ trễ phím, bảng số đo), chỉ khi được yêu cầu:
+    // -Dsnakegame.metrics.verbose=true in ra console, -Dsnakegame.metrics.dir=... ghi ra file
+    private void dumpMetrics() {
+        String dir = System.getProperty("snakegame.metrics.dir");
+        boolean toFile = dir != null && !dir.isBlank();
+        if (!METRICS_VERBOSE && !toFile) return;
+
+        String ls = System.lineSeparator();
+        String title = "Ván " + gameBoard.getDifficulty() + (twoPlayer ? " 2P" : "") + ", điểm " + gameBoard.getScore()
+                + (twoPlayer ? "/" + gameBoard.getScore2() : "") + ", " + gameBoard.getTick() + " tick";
+        String summary = "Vòng lặp: " + gameLoop + ls + "Âm thanh: " + AUDIO + ls
+                + inputLatency("P1", gameBoard.getInputQueue())
+                + (gameBoard.isTwoPlayer() ? ls + inputLatency("P2", gameBoard.getInputQueue2()) : "");
+        if (METRICS_VERBOSE) {
+            System.out.print("Hiệu năng (" + title + "):" + ls + summary + ls + metrics.report());
+        }
+        if (!toFile) return;
+        try {
+            System.out.println("Đã ghi số đo: " + metrics.dump(Path.of(dir), title + ls + summary));
+        } catch (IOException e) {
+            System.err.println("Không ghi được số đo vào " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private static String inputLatency(String player, InputQueue q) {
+        return String.format("Phím %s: %d lượt, trễ TB %.1f ms, tối đa %.1f ms, bỏ %d", player,
+                q.getConsumed(), q.getAverageLatencyMillis(), q.getMaxLatencyNanos() / 1_000_000.0, q.getDropped());
+    }
+
+
+    // ========== CONTROLS ==========
     private void handleKeyPress(KeyEvent e) {
-        if (gameBoard.isGameOver()) return;
+        if (gameBoard == null || gameBoard.isGameOver()) return;
 
         if (gameBoard.isTwoPlayer()) {
             switch (e.getCode()) {
@@ -263,125 +383,355 @@ public class GameController {
     // ========== DRAW ==========
     private void drawGame() {
         if (gc == null) return;
-        double cw = gameCanvas.getWidth() / gameBoard.getBoardWidth();
-        double ch = gameCanvas.getHeight() / gameBoard.getBoardHeight();
-        cellSize = Math.min(cw, ch);
-
-        drawCheckerboard(cellSize);
-        drawFood();
-        drawSnake(gameBoard.getSnake(), gameBoard.getDirection(), Color.web("#2E8B57"));
-        if (gameBoard.getSnake2() != null)
-            drawSnake(gameBoard.getSnake2(), gameBoard.getDirection2(), Color.web("#4169E1"));
-        drawWall();
-        drawObstacles();
-    }
-
-    private void drawObstacles() {
-        var obs = gameBoard.getObstacles();
-        if (obs == null) return;
-
-        gc.setFill(Color.web("#555"));
-        for (var o : obs) {
-            gc.fillRect(o.getX() * cellSize, o.getY() * cellSize, cellSize, cellSize);
+        BoardView board = gameBoard; // đọc trực tiếp, không sao chép
+        if (board.getVersion() == lastDrawnVersion) return; // chưa có tick mới → giữ khung hình cũ
+        lastDrawnVersion = board.getVersion();
+        RenderPassEvent event = RENDER_PROBE.isEnabled() ? new RenderPassEvent() : null;
+        if (event != null) event.begin();
+        drawCalls = 0;
+
+        int oldViewX = viewX, oldViewY = viewY;
+        double oldCellSize = cellSize;
+        updateCamera(board);
+        boolean cameraMoved = viewX != oldViewX || viewY != oldViewY || cellSize != oldCellSize;
+        if (cellSize != oldCellSize) loadAssets(); // atlas thu phóng sẵn theo cỡ ô
+
+        boolean layerRebuilt = updateStaticLayer(board);
+        if (layerRebuilt) fullRedraw = true;
+
+        DirtyCells dirty = gameBoard.getDirtyCells();
+        int dirtyCount = dirty.size();
+        boolean full = fullRedraw || cameraMoved || dirty.isAll();
+        if (full) {
+            if (staticLayer != null) {
+                gc.drawImage(staticLayer, 0, 0);
+                drawCalls++;
+            } else {
+                drawBoardCells(board);
+            }
+            overlayCount = 0; // cả bàn vừa vẽ lại, không còn dấu của lớp nội suy cũ
+            drawFood(board);
+            drawSnake(board.getSnakeBody(), board.getDirection(), SNAKE_COLOR);
+            if (board.getSnakeBody2() != null)
+                drawSnake(board.getSnakeBody2(), board.getDirection2(), SNAKE2_COLOR);
+        } else {
+            drawDirtyCells(board, dirty);
+        }
+        dirty.clear();
+        fullRedraw = false;
+
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.drawCalls = drawCalls;
+                event.dirtyCells = dirtyCount;
+                event.fullRedraw = full;
+                event.staticLayerRebuilt = layerRebuilt;
+                event.commit();
+            }
         }
     }
 
-    private void drawCheckerboard(double cs) {
-        Color c1 = Color.web("#1e2a31");
-        Color c2 = Color.web("#25333b");
-        for (int y = 0; y < gameBoard.getBoardHeight(); y++)
-            for (int x = 0; x < gameBoard.getBoardWidth(); x++) {
-                gc.setFill(((x + y) % 2 == 0) ? c1 : c2);
-                gc.fillRect(x * cs, y * cs, cs, cs);
+    // Mỗi tick chỉ vài ô đổi: vẽ lại nền các ô đó, rồi thức ăn / đoạn rắn nằm trên chúng.
+    // Ô đổi trên thân rắn chỉ có thể là đầu, đoạn ngay sau đầu và đuôi.
+    private void drawDirtyCells(BoardView board, DirtyCells dirty) {
+        int w = board.getBoardWidth();
+        for (int i = 0; i < dirty.size(); i++) {
+            int cell = dirty.getCell(i);
+            int x = cell % w;
+            int y = cell / w;
+            if (!inView(x, y)) continue;
+            if (staticLayer != null) {
+                double sx = x * cellSize, sy = y * cellSize; // lớp tĩnh phủ cả bàn, không lệch camera
+                gc.drawImage(staticLayer, sx, sy, cellSize, cellSize, screenX(x), screenY(y), cellSize, cellSize);
+                drawCalls++;
+            } else {
+                drawCellBackground(gc, board, x, y);
             }
+        }
+        drawDirtyApple(board.getFood(), w, dirty);
+        if (board.isTwoPlayer()) drawDirtyApple(board.getFood2(), w, dirty);
+        drawDirtySegments(board.getSnakeBody(), board.getDirection(), SNAKE_COLOR, dirty);
+        if (board.getSnakeBody2() != null)
+            drawDirtySegments(board.getSnakeBody2(), board.getDirection2(), SNAKE2_COLOR, dirty);
     }
 
-    private void drawFood() {
-        Image apple = images.get("apple.png");
+    private void drawDirtyApple(GameBoard.Point food, int boardWidth, DirtyCells dirty) {
+        if (food != null && dirty.contains(food.getY() * boardWidth + food.getX())) drawApple(food);
+    }
 
-        var food1 = gameBoard.getFood();
-        double fx1 = food1.getX() * cellSize;
-        double fy1 = food1.getY() * cellSize;
-        if (apple != null) gc.drawImage(apple, fx1 + 1, fy1 + 1, cellSize - 2, cellSize - 2);
-        else {
-            gc.setFill(Color.RED);
-            gc.fillOval(fx1 + 2, fy1 + 2, cellSize - 4, cellSize - 4);
-        }
+    private void drawDirtySegments(SnakeBody snake, GameBoard.Direction dir, Color fallback, DirtyCells dirty) {
+        int last = snake.size() - 1;
+        for (int i = 0; i <= Math.min(1, last); i++)
+            if (dirty.contains(snake.getCell(i))) drawSegment(snake, i, dir, fallback);
+        if (last > 1 && dirty.contains(snake.getCell(last))) drawSegment(snake, last, dir, fallback);
+    }
 
-        if (gameBoard.isTwoPlayer()) {
-            var food2 = gameBoard.getFood2();
-            double fx2 = food2.getX() * cellSize;
-            double fy2 = food2.getY() * cellSize;
-            if (apple != null) gc.drawImage(apple, fx2 + 1, fy2 + 1, cellSize - 2, cellSize - 2);
-            else {
-                gc.setFill(Color.RED);
-                gc.fillOval(fx2 + 2, fy2 + 2, cellSize - 4, cellSize - 4);
+    // buộc vẽ lại toàn bộ ở lần drawGame() kế tiếp (đổi skin, resize, ...)
+    private void invalidateFrame() {
+        lastDrawnVersion = -1;
+        fullRedraw = true;
+    }
+
+    // ---- nội suy giữa hai tick ----
+    // Đầu trượt từ ô cũ sang ô mới, đuôi trượt khỏi ô vừa bỏ; alpha = phần tick đã trôi qua.
+    // Chỉ vẽ lại các ô bị lớp nội suy phủ (khung trước + khung này), không đụng phần còn lại.
+    private void drawInterpolated(double alpha) {
+        if (gc == null) return;
+        BoardView board = gameBoard;
+        int w = board.getBoardWidth();
+
+        repaintCount = 0;
+        for (int i = 0; i < overlayCount; i++) addRepaint(overlayCells[i]);
+        overlayCount = 0;
+        addOverlay(board.getSnakeBody(), 0);
+        if (board.getSnakeBody2() != null) addOverlay(board.getSnakeBody2(), 1);
+        for (int i = 0; i < overlayCount; i++) addRepaint(overlayCells[i]);
+
+        // 1. nền + thức ăn của các ô đó
+        for (int i = 0; i < repaintCount; i++) {
+            int x = repaintCells[i] % w;
+            int y = repaintCells[i] / w;
+            if (!inView(x, y)) continue;
+            if (staticLayer != null) {
+                gc.drawImage(staticLayer, x * cellSize, y * cellSize, cellSize, cellSize,
+                        screenX(x), screenY(y), cellSize, cellSize);
+            } else {
+                drawCellBackground(gc, board, x, y);
             }
         }
+        GameBoard.Point food = board.getFood();
+        if (food != null && isRepaint(food.getY() * w + food.getX())) drawApple(food);
+        GameBoard.Point food2 = board.getFood2();
+        if (food2 != null && isRepaint(food2.getY() * w + food2.getX())) drawApple(food2);
+
+        // 2. thân rắn nằm dưới, rồi đầu/đuôi trượt lên trên
+        drawSlidingSnake(board.getSnakeBody(), board.getDirection(), SNAKE_COLOR, 0, alpha, w);
+        if (board.getSnakeBody2() != null)
+            drawSlidingSnake(board.getSnakeBody2(), board.getDirection2(), SNAKE2_COLOR, 1, alpha, w);
+    }
+
+    private void addOverlay(SnakeBody snake, int player) {
+        overlayCells[overlayCount++] = snake.getHeadCell();
+        overlayCells[overlayCount++] = prevHead[player] >= 0 ? prevHead[player] : snake.getHeadCell();
+        overlayCells[overlayCount++] = snake.getTailCell();
+        overlayCells[overlayCount++] = prevTail[player] >= 0 ? prevTail[player] : snake.getTailCell();
     }
 
-    private void drawSnake(java.util.List<GameBoard.Point> snake, GameBoard.Direction dir, Color fallback) {
-        for (int i = 0; i < snake.size(); i++) {
-            var seg = snake.get(i);
-            double x = seg.getX() * cellSize;
-            double y = seg.getY() * cellSize;
-            Image img = null;
-
-            if (i == 0) {
-                switch (dir) {
-                    case UP -> img = images.get("head_up.png");
-                    case DOWN -> img = images.get("head_down.png");
-                    case LEFT -> img = images.get("head_left.png");
-                    case RIGHT -> img = images.get("head_right.png");
-                }
-            } else if (i == snake.size() - 1) {
-                var prev = snake.get(i - 1);
-                img = chooseTailImage(prev, seg);
+    private void addRepaint(int cell) {
+        if (!isRepaint(cell)) repaintCells[repaintCount++] = cell;
+    }
+
+    private boolean isRepaint(int cell) {
+        for (int i = 0; i < repaintCount; i++) if (repaintCells[i] == cell) return true;
+        return false;
+    }
+
+    private void drawSlidingSnake(SnakeBody snake, GameBoard.Direction dir, Color fallback,
+                                  int player, double alpha, int w) {
+        int last = snake.size() - 1;
+        // sau một tick, ô phủ của khung trước chỉ có thể là đoạn 1 hoặc 2 (đầu cũ, ô đầu cũ rời đi)
+        for (int i = 1; i < last && i <= 2; i++) {
+            if (isRepaint(snake.getCell(i))) drawSegment(snake, i, dir, fallback);
+        }
+
+        if (last > 0) {
+            int tail = snake.getTailCell();
+            int from = prevTail[player];
+            boolean tailMoved = from >= 0 && from != tail && adjacent(from, tail, w);
+            if (tailMoved) {
+                // ô đuôi hiện tại vẽ như thân nối tới ô đuôi cũ, đuôi trượt dần vào đè lên
+                if (isRepaint(tail))
+                    drawBodyTowards(snake, last, from, w, fallback);
+                drawSliding(chooseTailSprite(tail % w, tail / w, from % w, from / w), from, tail, alpha, w, fallback);
             } else {
-                var prev = snake.get(i - 1);
-                var next = snake.get(i + 1);
-                img = chooseBodyImage(prev, seg, next);
+                drawSliding(chooseTailSprite(snake.getX(last - 1), snake.getY(last - 1), tail % w, tail / w),
+                        tail, tail, alpha, w, fallback);
             }
+        }
 
-            if (img != null)
-                gc.drawImage(img, x + 1, y + 1, cellSize - 2, cellSize - 2);
-            else {
-                gc.setFill(fallback);
-                gc.fillRoundRect(x + 1, y + 1, cellSize - 2, cellSize - 2, 5, 5);
-            }
+        int from = prevHead[player] >= 0 ? prevHead[player] : snake.getHeadCell();
+        drawSliding(HEAD_SPRITES[dir.ordinal()], from, snake.getHeadCell(), alpha, w, fallback);
+    }
+
+    private static boolean adjacent(int a, int b, int w) {
+        return Math.abs(a % w - b % w) + Math.abs(a / w - b / w) == 1;
+    }
+
+    // đoạn i vẽ như thân nối đoạn i-1 với ô next (ô đuôi vừa rời đi)
+    private void drawBodyTowards(SnakeBody snake, int i, int next, int w, Color fallback) {
+        int sx = snake.getX(i);
+        int sy = snake.getY(i);
+        if (!inView(sx, sy)) return;
+        Sprite sprite = chooseBodySprite(snake.getX(i - 1), snake.getY(i - 1), sx, sy, next % w, next / w);
+        if (!atlas.draw(gc, sprite, screenX(sx) + 1, screenY(sy) + 1)) {
+            gc.setFill(fallback);
+            gc.fillRoundRect(screenX(sx) + 1, screenY(sy) + 1, cellSize - 2, cellSize - 2, 5, 5);
+        }
+    }
+
+    // vẽ sprite tại vị trí nội suy giữa ô from và ô to; qua mép (wrap) thì không nội suy
+    private void drawSliding(Sprite sprite, int from, int to, double alpha, int w, Color fallback) {
+        int tx = to % w, ty = to / w;
+        int fx = from % w, fy = from / w;
+        if (!adjacent(from, to, w)) {
+            fx = tx;
+            fy = ty;
         }
+        if (!inView(tx, ty) && !inView(fx, fy)) return;
+        double x = screenX(fx) + (tx - fx) * alpha * cellSize;
+        double y = screenY(fy) + (ty - fy) * alpha * cellSize;
+        if (!atlas.draw(gc, sprite, x + 1, y + 1)) {
+            gc.setFill(fallback);
+            gc.fillRoundRect(x + 1, y + 1, cellSize - 2, cellSize - 2, 5, 5);
+        }
+    }
+
+    // Vẽ lại ảnh lớp tĩnh khi bàn đổi bố cục (reset, chướng ngại vật mới) hoặc đổi cỡ ô.
+    // Trả về true nếu ảnh vừa được tạo lại.
+    private boolean updateStaticLayer(BoardView board) {
+        double width = board.getBoardWidth() * cellSize;
+        double height = board.getBoardHeight() * cellSize;
+        if (viewCols < board.getBoardWidth() || viewRows < board.getBoardHeight()
+                || width > MAX_STATIC_LAYER_SIZE || height > MAX_STATIC_LAYER_SIZE) {
+            boolean had = staticLayer != null;
+            staticLayer = null;
+            return had;
+        }
+        if (staticLayer != null && staticLayerVersion == board.getLayoutVersion()
+                && staticLayerCellSize == cellSize) return false;
+
+        Canvas layer = new Canvas(width, height);
+        GraphicsContext lg = layer.getGraphicsContext2D();
+        for (int y = 0; y < board.getBoardHeight(); y++)
+            for (int x = 0; x < board.getBoardWidth(); x++)
+                drawCellBackground(lg, board, x, y);
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        staticLayer = layer.snapshot(params, null);
+        staticLayerVersion = board.getLayoutVersion();
+        staticLayerCellSize = cellSize;
+        return true;
+    }
+
+    // Bàn vừa canvas → vẽ cả bàn như trước. Bàn lớn (đấu trường) → camera bám đầu rắn P1,
+    // chỉ duyệt các ô trong khung nhìn nên chi phí vẽ không phụ thuộc kích thước bàn.
+    private void updateCamera(BoardView board) {
+        double fit = Math.min(gameCanvas.getWidth() / board.getBoardWidth(),
+                gameCanvas.getHeight() / board.getBoardHeight());
+        if (fit >= MIN_CELL_SIZE) {
+            cellSize = fit;
+            viewX = 0;
+            viewY = 0;
+            viewCols = board.getBoardWidth();
+            viewRows = board.getBoardHeight();
+            return;
+        }
+
+        cellSize = VIEWPORT_CELL_SIZE;
+        viewCols = Math.min(board.getBoardWidth(), (int) (gameCanvas.getWidth() / cellSize));
+        viewRows = Math.min(board.getBoardHeight(), (int) (gameCanvas.getHeight() / cellSize));
+        SnakeBody snake = board.getSnakeBody();
+        viewX = clamp(snake.getX(0) - viewCols / 2, 0, board.getBoardWidth() - viewCols);
+        viewY = clamp(snake.getY(0) - viewRows / 2, 0, board.getBoardHeight() - viewRows);
     }
 
-    private void drawWall() {
-        var wall = gameBoard.getWall();
-        if (wall == null) return;
-        gc.setFill(Color.web("#444"));
-        for (var b : wall)
-            gc.fillRect(b.getX() * cellSize, b.getY() * cellSize, cellSize, cellSize);
+    private static int clamp(int v, int min, int max) {
+        return Math.max(min, Math.min(max, v));
     }
 
-    private Image chooseTailImage(GameBoard.Point prev, GameBoard.Point tail) {
-        int dx = tail.getX() - prev.getX();
-        int dy = tail.getY() - prev.getY();
-        if (dx == 1) return images.get("tail_right.png");
-        if (dx == -1) return images.get("tail_left.png");
-        if (dy == 1) return images.get("tail_down.png");
-        return images.get("tail_up.png");
+    private boolean inView(int x, int y) {
+        return x >= viewX && x < viewX + viewCols && y >= viewY && y < viewY + viewRows;
     }
 
-    private Image chooseBodyImage(GameBoard.Point prev, GameBoard.Point curr, GameBoard.Point next) {
-        int dx1 = prev.getX() - curr.getX();
-        int dy1 = prev.getY() - curr.getY();
-        int dx2 = next.getX() - curr.getX();
-        int dy2 = next.getY() - curr.getY();
+    // tọa độ ô trên bàn → pixel trên canvas
+    private double screenX(int x) { return (x - viewX) * cellSize; }
+    private double screenY(int y) { return (y - viewY) * cellSize; }
 
-        if (dx1 == 0 && dx2 == 0) return images.get("body_vertical.png");
-        if (dy1 == 0 && dy2 == 0) return images.get("body_horizontal.png");
-        if ((dx1 == -1 && dy2 == -1) || (dy1 == -1 && dx2 == -1)) return images.get("body_topleft.png");
-        if ((dx1 == 1 && dy2 == -1) || (dy1 == -1 && dx2 == 1)) return images.get("body_topright.png");
-        if ((dx1 == -1 && dy2 == 1) || (dy1 == 1 && dx2 == -1)) return images.get("body_bottomleft.png");
-        if ((dx1 == 1 && dy2 == 1) || (dy1 == 1 && dx2 == 1)) return images.get("body_bottomright.png");
-        return images.get("body_horizontal.png");
+    // nền ô cờ + tường + chướng ngại vật, một lượt qua các ô trong khung nhìn
+    private void drawBoardCells(BoardView board) {
+        for (int y = viewY; y < viewY + viewRows; y++)
+            for (int x = viewX; x < viewX + viewCols; x++)
+                drawCellBackground(gc, board, x, y);
+    }
+
+    private void drawCellBackground(GraphicsContext g, BoardView board, int x, int y) {
+        switch (board.getCell(x, y)) {
+            case WALL -> g.setFill(WALL_COLOR);
+            case OBSTACLE -> g.setFill(OBSTACLE_COLOR);
+            default -> g.setFill(((x + y) % 2 == 0) ? CHECKER_LIGHT : CHECKER_DARK);
+        }
+        g.fillRect(screenX(x), screenY(y), cellSize, cellSize);
+        drawCalls++;
+    }
+
+    private void drawFood(BoardView board) {
+        drawApple(board.getFood());
+        if (board.isTwoPlayer()) drawApple(board.getFood2());
+    }
+
+    // food == null khi bàn đã kín (thắng)
+    private void drawApple(GameBoard.Point food) {
+        if (food == null || !inView(food.getX(), food.getY())) return;
+        double fx = screenX(food.getX());
+        double fy = screenY(food.getY());
+        drawCalls++;
+        if (!atlas.draw(gc, Sprite.APPLE, fx + 1, fy + 1)) {
+            gc.setFill(Color.RED);
+            gc.fillOval(fx + 2, fy + 2, cellSize - 4, cellSize - 4);
+        }
+    }
+
+    private void drawSnake(SnakeBody snake, GameBoard.Direction dir, Color fallback) {
+        for (int i = 0; i < snake.size(); i++) drawSegment(snake, i, dir, fallback);
+    }
+
+    private void drawSegment(SnakeBody snake, int i, GameBoard.Direction dir, Color fallback) {
+        int sx = snake.getX(i);
+        int sy = snake.getY(i);
+        if (!inView(sx, sy)) return;
+        double x = screenX(sx);
+        double y = screenY(sy);
+        Sprite sprite;
+
+        if (i == 0) {
+            sprite = HEAD_SPRITES[dir.ordinal()];
+        } else if (i == snake.size() - 1) {
+            sprite = chooseTailSprite(snake.getX(i - 1), snake.getY(i - 1), sx, sy);
+        } else {
+            sprite = chooseBodySprite(snake.getX(i - 1), snake.getY(i - 1), sx, sy,
+                    snake.getX(i + 1), snake.getY(i + 1));
+        }
+
+        drawCalls++;
+        if (!atlas.draw(gc, sprite, x + 1, y + 1)) {
+            gc.setFill(fallback);
+            gc.fillRoundRect(x + 1, y + 1, cellSize - 2, cellSize - 2, 5, 5);
+        }
+    }
+
+    private static Sprite chooseTailSprite(int prevX, int prevY, int tailX, int tailY) {
+        int dx = tailX - prevX;
+        int dy = tailY - prevY;
+        if (dx == 1) return Sprite.TAIL_RIGHT;
+        if (dx == -1) return Sprite.TAIL_LEFT;
+        if (dy == 1) return Sprite.TAIL_DOWN;
+        return Sprite.TAIL_UP;
+    }
+
+    private static Sprite chooseBodySprite(int prevX, int prevY, int currX, int currY, int nextX, int nextY) {
+        int dx1 = prevX - currX;
+        int dy1 = prevY - currY;
+        int dx2 = nextX - currX;
+        int dy2 = nextY - currY;
+
+        if (dx1 == 0 && dx2 == 0) return Sprite.BODY_VERTICAL;
+        if (dy1 == 0 && dy2 == 0) return Sprite.BODY_HORIZONTAL;
+        if ((dx1 == -1 && dy2 == -1) || (dy1 == -1 && dx2 == -1)) return Sprite.BODY_TOPLEFT;
+        if ((dx1 == 1 && dy2 == -1) || (dy1 == -1 && dx2 == 1)) return Sprite.BODY_TOPRIGHT;
+        if ((dx1 == -1 && dy2 == 1) || (dy1 == 1 && dx2 == -1)) return Sprite.BODY_BOTTOMLEFT;
+        if ((dx1 == 1 && dy2 == 1) || (dy1 == 1 && dx2 == 1)) return Sprite.BODY_BOTTOMRIGHT;
+        return Sprite.BODY_HORIZONTAL;
     }
 
     // ========== UI ==========
@@ -400,10 +750,11 @@ public class GameController {
     private void togglePause() {
         isPaused = !isPaused;
         if (isPaused) {
-            gameLoop.pause();
+            gameLoop.stop();
             pauseButton.setText("TIẾP TỤC");
         } else {
-            gameLoop.play();
+            metrics.skipGap(); // thời gian tạm dừng không tính vào jitter / khoảng cách khung hình
+            gameLoop.start();
             pauseButton.setText("TẠM DỪNG");
         }
         Platform.runLater(() -> gameCanvas.requestFocus());
@@ -412,10 +763,7 @@ public class GameController {
     @FXML
     private void backToMenu() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Menu.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-            ((Stage) menuButton.getScene().getWindow()).setScene(scene);
+            SceneNavigator.getInstance().show(SceneNavigator.Screen.MENU); // onHide() dừng vòng lặp
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -423,16 +771,11 @@ public class GameController {
 
     private void showGameOver() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/GameOver.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-
-            GameOverController ctrl = loader.getController();
+            GameOverController ctrl = SceneNavigator.getInstance().show(SceneNavigator.Screen.GAME_OVER);
             int score2 = gameBoard.isTwoPlayer() ? gameBoard.getScore2() : 0;
             ctrl.setGameData(gameBoard.getScore(), score2, gameBoard.getDifficulty(), twoPlayer);
-
-            Stage stage = (Stage) gameCanvas.getScene().getWindow();
-            stage.setScene(scene);
+            ctrl.setBoardSize(gameBoard.getBoardWidth(), gameBoard.getBoardHeight());
+            if (gameBoard.isBoardFull()) ctrl.showBoardFull();
         } catch (IOException e) {
             e.printStackTrace();
         }
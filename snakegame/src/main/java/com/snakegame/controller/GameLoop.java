@@ -0,0 +1,84 @@
+package com.snakegame.controller;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Vòng lặp bước cố định: AnimationTimer chạy theo tần số màn hình, mỗi khung hình cộng thời gian
+ * vào bộ tích lũy rồi chạy đủ số tick mô phỏng (mỗi tick đúng stepMillis), sau đó vẽ một lần với
+ * alpha = phần tick đã trôi qua (0..1) để nội suy chuyển động giữa hai tick.
+ *
+ * Máy chậm: mỗi khung hình chạy bù tối đa MAX_STEPS_PER_FRAME tick, phần còn lại bị bỏ
+ * (droppedTicks) để không rơi vào vòng xoáy chạy bù mãi không kịp.
+ */
+class GameLoop extends AnimationTimer {
+    private static final int MAX_STEPS_PER_FRAME = 5;
+
+    private final long stepNanos;
+    private final Runnable tick;
+    private final DoubleConsumer render;
+
+    private long lastNanos = -1; // -1: khung hình đầu sau start()/resume
+    private long accumulator;
+    private boolean running;
+
+    private long frames;
+    private long ticks;
+    private long catchUpSteps; // tick thứ 2 trở đi trong cùng một khung hình
+    private long droppedTicks;
+
+    GameLoop(long stepMillis, Runnable tick, DoubleConsumer render) {
+        this.stepNanos = stepMillis * 1_000_000L;
+        this.tick = tick;
+        this.render = render;
+    }
+
+    @Override
+    public void start() {
+        lastNanos = -1; // không tính thời gian lúc tạm dừng
+        running = true;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        super.stop();
+    }
+
+    @Override
+    public void handle(long now) {
+        if (lastNanos < 0) lastNanos = now;
+        accumulator += now - lastNanos;
+        lastNanos = now;
+
+        int steps = 0;
+        while (accumulator >= stepNanos && running) {
+            if (steps == MAX_STEPS_PER_FRAME) {
+                droppedTicks += accumulator / stepNanos;
+                accumulator %= stepNanos;
+                break;
+            }
+            tick.run(); // có thể gọi stop() (hết ván)
+            accumulator -= stepNanos;
+            steps++;
+        }
+        ticks += steps;
+        if (steps > 1) catchUpSteps += steps - 1;
+
+        frames++;
+        render.accept(running ? (double) accumulator / stepNanos : 1.0);
+    }
+
+    long getFrames() { return frames; }
+    long getTicks() { return ticks; }
+    long getCatchUpSteps() { return catchUpSteps; }
+    long getDroppedTicks() { return droppedTicks; }
+
+    @Override
+    public String toString() {
+        return "GameLoop{frames=" + frames + ", ticks=" + ticks
+                + ", catchUp=" + catchUpSteps + ", dropped=" + droppedTicks + "}";
+    }
+}
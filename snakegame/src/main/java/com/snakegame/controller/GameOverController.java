@@ -3,17 +3,17 @@ package com.snakegame.controller;
 import com.snakegame.database.DatabaseManager;
 import com.snakegame.model.GameBoard;
 import com.snakegame.model.Player;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.stage.Stage;
+import javafx.scene.control.TextFormatter;
 
 import java.io.IOException;
 
-public class GameOverController {
+public class GameOverController implements SceneNavigator.Lifecycle {
 
     @FXML
     private Label gameOverLabel;
@@ -40,13 +40,27 @@ public class GameOverController {
 
     private int finalScore;
     private GameBoard.Difficulty difficulty;
-    private DatabaseManager dbManager;
     private boolean wasTwoPlayer;  // trạng thái game trước khi kết thúc
     private int finalScore2;
+    private int boardWidth, boardHeight; // để "chơi lại" đúng kích thước bàn (đấu trường)
+    private int shownCount; // lần hiện màn hình; kết quả lưu của lần trước không được đổi nút của lần này
 
+    @FXML
+    private void initialize() {
+        // tên dài hơn cột player_name thì database từ chối dòng đó: chặn ngay khi gõ / dán
+        playerNameField.setTextFormatter(new TextFormatter<String>(change ->
+                change.getControlNewText().length() <= Player.MAX_NAME_LENGTH ? change : null));
+    }
 
-    public GameOverController() {
-        this.dbManager = DatabaseManager.getInstance();
+    // màn hình được dùng lại giữa các ván: đặt lại trạng thái của ván trước (giữ tên người chơi đã nhập)
+    @Override
+    public void onShow(Scene scene) {
+        shownCount++;
+        gameOverLabel.setText("GAME OVER");
+        saveScoreButton.setText("LƯU ĐIỂM");
+        saveScoreButton.setDisable(false);
+        boardWidth = 0;
+        boardHeight = 0;
     }
 
     public void setGameData(int score1,int score2, GameBoard.Difficulty difficulty, boolean twoPlayer) {
@@ -68,6 +82,16 @@ public class GameOverController {
         difficultyLabel.setText("Độ khó: " + getDifficultyText(difficulty));
     }
 
+    public void setBoardSize(int boardWidth, int boardHeight) {
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+    }
+
+    // Rắn đã phủ kín bàn, không còn chỗ đặt thức ăn
+    public void showBoardFull() {
+        gameOverLabel.setText("CHIẾN THẮNG!");
+    }
+
 
 
     private String getDifficultyText(GameBoard.Difficulty difficulty) {
@@ -84,31 +108,49 @@ public class GameOverController {
         String playerName = playerNameField.getText().trim();
         if (playerName.isEmpty()) {
             playerName = "Người chơi ẩn danh";
+        } else if (playerName.length() > Player.MAX_NAME_LENGTH) {
+            playerName = playerName.substring(0, Player.MAX_NAME_LENGTH);
         }
 
         Player player = new Player(playerName, finalScore, difficulty.name());
-        boolean saved = dbManager.savePlayer(player);
-
-        if (saved) {
-            saveScoreButton.setText("ĐÃ LƯU!");
-            saveScoreButton.setDisable(true);
-        } else {
-            saveScoreButton.setText("LỖI LƯU!");
-        }
+        // ghi trên luồng nền; MySQL chậm / mất kết nối không làm đơ giao diện
+        saveScoreButton.setText("ĐANG LƯU...");
+        saveScoreButton.setDisable(true);
+        int shown = shownCount;
+        DatabaseManager.warmUp().whenComplete((db, error) -> {
+            if (error != null) {
+                // database không khởi tạo được: điểm chưa vào hàng đợi nào → báo lỗi, cho bấm lưu lại
+                Platform.runLater(() -> {
+                    if (shown != shownCount) return;
+                    saveScoreButton.setText("LƯU THẤT BẠI - THỬ LẠI");
+                    saveScoreButton.setDisable(false);
+                });
+                return;
+            }
+            db.savePlayerAsync(player).whenComplete((saved, rejected) -> Platform.runLater(() -> {
+                if (shown != shownCount) return;
+                if (rejected != null) {
+                    // database từ chối chính điểm này (dữ liệu không hợp lệ), điểm đã bị bỏ khỏi hàng đợi
+                    saveScoreButton.setText("LƯU THẤT BẠI - THỬ LẠI");
+                    saveScoreButton.setDisable(false);
+                } else if (saved) {
+                    saveScoreButton.setText("ĐÃ LƯU!");
+                } else {
+                    // điểm vẫn nằm trong hàng đợi và sẽ được ghi lại khi database sẵn sàng
+                    saveScoreButton.setText("SẼ LƯU LẠI...");
+                }
+            }));
+        });
     }
 
     @FXML
     private void playAgain() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Game.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-
-            GameController gameController = loader.getController();
-            gameController.initializeGame(difficulty,wasTwoPlayer);
-
-            Stage stage = (Stage) playAgainButton.getScene().getWindow();
-            stage.setScene(scene);
+            GameController gameController = SceneNavigator.getInstance().show(SceneNavigator.Screen.GAME);
+            if (boardWidth > 0 && boardHeight > 0)
+                gameController.initializeGame(difficulty, wasTwoPlayer, boardWidth, boardHeight);
+            else
+                gameController.initializeGame(difficulty, wasTwoPlayer);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -117,12 +159,7 @@ public class GameOverController {
     @FXML
     private void backToMenu() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Menu.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-
-            Stage stage = (Stage) menuButton.getScene().getWindow();
-            stage.setScene(scene);
+            SceneNavigator.getInstance().show(SceneNavigator.Screen.MENU);
         } catch (IOException e) {
             e.printStackTrace();
         }
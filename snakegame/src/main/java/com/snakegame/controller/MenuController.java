@@ -2,10 +2,7 @@ package com.snakegame.controller;
 
 import com.snakegame.model.GameBoard;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 
@@ -29,6 +26,9 @@ public class MenuController {
     @FXML
     private Button twoPlayersButton;
 
+    @FXML
+    private Button arenaButton;
+
     @FXML
     private void startEasyGame() {
         startGame(GameBoard.Difficulty.EASY);
@@ -47,15 +47,20 @@ public class MenuController {
     @FXML
     private void startTwoPlayers() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Game.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-
-            GameController gameController = loader.getController();
+            GameController gameController = SceneNavigator.getInstance().show(SceneNavigator.Screen.GAME);
             gameController.initializeGame(GameBoard.Difficulty.MEDIUM, true);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-            Stage stage = (Stage) easyButton.getScene().getWindow();
-            stage.setScene(scene);
+    // Đấu trường: bàn 500x500, camera bám theo đầu rắn
+    @FXML
+    private void startArena() {
+        try {
+            GameController gameController = SceneNavigator.getInstance().show(SceneNavigator.Screen.GAME);
+            gameController.initializeGame(GameBoard.Difficulty.MEDIUM, false,
+                    GameBoard.ARENA_BOARD_SIZE, GameBoard.ARENA_BOARD_SIZE);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -64,12 +69,7 @@ public class MenuController {
     @FXML
     private void showHighScores() {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/HighScore.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-            
-            Stage stage = (Stage) highScoreButton.getScene().getWindow();
-            stage.setScene(scene);
+            SceneNavigator.getInstance().show(SceneNavigator.Screen.HIGH_SCORES);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -82,15 +82,8 @@ public class MenuController {
 
     private void startGame(GameBoard.Difficulty difficulty) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/Game.fxml"));
-            Scene scene = new Scene(loader.load());
-            scene.getStylesheets().add(getClass().getResource("/css/style.css").toExternalForm());
-            
-            GameController gameController = loader.getController();
+            GameController gameController = SceneNavigator.getInstance().show(SceneNavigator.Screen.GAME);
             gameController.initializeGame(difficulty);
-            
-            Stage stage = (Stage) easyButton.getScene().getWindow();
-            stage.setScene(scene);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,117 @@
+package com.snakegame.controller;
+
+import com.snakegame.StartupProfile;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Chuyển màn hình trên một Scene duy nhất: mỗi FXML chỉ được nạp một lần, root và controller được
+ * giữ lại, đổi màn hình chỉ là scene.setRoot(). style.css được gắn (và phân tích) một lần cho Scene.
+ *
+ * Controller được dùng lại nên phải tự đặt lại trạng thái: cài Lifecycle để được gọi onShow/onHide,
+ * hoặc nhận dữ liệu mới qua hàm khởi tạo riêng (GameController.initializeGame, ...) sau show().
+ */
+public final class SceneNavigator {
+    private static final String STYLESHEET = "/css/style.css";
+
+    public enum Screen {
+        MENU("/fxml/Menu.fxml"),
+        GAME("/fxml/Game.fxml"),
+        GAME_OVER("/fxml/GameOver.fxml"),
+        HIGH_SCORES("/fxml/HighScore.fxml");
+
+        private final String fxml;
+
+        Screen(String fxml) {
+            this.fxml = fxml;
+        }
+    }
+
+    /** Controller cần biết khi màn hình của nó được hiện hoặc bị thay bằng màn hình khác. */
+    public interface Lifecycle {
+        default void onShow(Scene scene) {}
+        default void onHide(Scene scene) {}
+    }
+
+    private static SceneNavigator instance;
+
+    private final Stage stage;
+    private final Map<Screen, Parent> roots = new EnumMap<>(Screen.class);
+    private final Map<Screen, Object> controllers = new EnumMap<>(Screen.class);
+    private Scene scene;
+    private Screen current;
+
+    private SceneNavigator(Stage stage) {
+        this.stage = stage;
+    }
+
+    public static SceneNavigator install(Stage stage) {
+        instance = new SceneNavigator(stage);
+        return instance;
+    }
+
+    public static SceneNavigator getInstance() {
+        if (instance == null) throw new IllegalStateException("SceneNavigator chưa được install()");
+        return instance;
+    }
+
+    /** Hiện màn hình (nạp FXML nếu là lần đầu) và trả về controller của nó. */
+    public <T> T show(Screen screen) throws IOException {
+        Parent root = load(screen);
+        if (screen != current) {
+            if (current != null && controllers.get(current) instanceof Lifecycle) {
+                ((Lifecycle) controllers.get(current)).onHide(scene);
+            }
+            if (scene == null) {
+                scene = new Scene(root);
+                scene.getStylesheets().add(getClass().getResource(STYLESHEET).toExternalForm());
+                stage.setScene(scene);
+            } else {
+                scene.setRoot(root);
+                stage.sizeToScene(); // mỗi màn hình có kích thước riêng, như khi mỗi màn hình là một Scene
+            }
+            current = screen;
+            if (controllers.get(screen) instanceof Lifecycle) {
+                ((Lifecycle) controllers.get(screen)).onShow(scene);
+            }
+        }
+        @SuppressWarnings("unchecked")
+        T controller = (T) controllers.get(screen);
+        return controller;
+    }
+
+    /** Màn hình đang hiện, null trước lần show() đầu tiên. */
+    public Screen getCurrent() {
+        return current;
+    }
+
+    /** Nạp trước các màn hình chưa nạp, để lần chuyển đầu tiên cũng không phải phân tích FXML. */
+    public void preloadAll() {
+        for (Screen screen : Screen.values()) {
+            try {
+                load(screen);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private Parent load(Screen screen) throws IOException {
+        Parent root = roots.get(screen);
+        if (root == null) {
+            long start = System.nanoTime();
+            FXMLLoader loader = new FXMLLoader(getClass().getResource(screen.fxml));
+            root = loader.load();
+            roots.put(screen, root);
+            controllers.put(screen, loader.getController());
+            StartupProfile.fxmlLoaded(screen.fxml, System.nanoTime() - start);
+        }
+        return root;
+    }
+}
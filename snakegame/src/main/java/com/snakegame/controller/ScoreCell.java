@@ -0,0 +1,92 @@
+package com.snakegame.controller;
+
+import com.snakegame.model.Player;
+import javafx.scene.control.ListCell;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Một dòng bảng xếp hạng. ListView chỉ tạo đủ ô cho phần đang hiện và dùng lại chúng khi cuộn,
+ * nên các Text được tạo một lần rồi chỉ đổi nội dung.
+ */
+class ScoreCell extends ListCell<Player> {
+    static final double HEIGHT = 65; // dòng cao 60 + khoảng cách 5
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private final HBox scoreItem = new HBox(20);
+    private final Text rankText = new Text();
+    private final Text nameText = new Text();
+    private final Text scoreText = new Text();
+    private final Text difficultyText = new Text();
+    private final Text dateText = new Text();
+
+    ScoreCell() {
+        scoreItem.getStyleClass().add("score-item");
+        scoreItem.setPrefHeight(60);
+
+        // Rank
+        rankText.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        rankText.setStyle("-fx-fill: #2E8B57;");
+        rankText.setWrappingWidth(50);
+
+        // Player name
+        nameText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        nameText.setStyle("-fx-fill: #333333;");
+        nameText.setWrappingWidth(200);
+
+        // Score
+        scoreText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+        scoreText.setStyle("-fx-fill: #2E8B57;");
+        scoreText.setWrappingWidth(100);
+
+        // Difficulty
+        difficultyText.setFont(Font.font("Arial", 14));
+        difficultyText.setStyle("-fx-fill: #666666;");
+        difficultyText.setWrappingWidth(120);
+
+        // Date
+        dateText.setFont(Font.font("Arial", 12));
+        dateText.setStyle("-fx-fill: #999999;");
+        dateText.setWrappingWidth(150);
+
+        scoreItem.getChildren().addAll(rankText, nameText, scoreText, difficultyText, dateText);
+        setText(null);
+    }
+
+    @Override
+    protected void updateItem(Player player, boolean empty) {
+        super.updateItem(player, empty);
+        if (empty) {
+            setGraphic(null);
+            return;
+        }
+
+        rankText.setText(String.valueOf(getIndex() + 1));
+        if (player == null) {
+            // trang chứa dòng này đang được đọc
+            nameText.setText("...");
+            scoreText.setText("");
+            difficultyText.setText("");
+            dateText.setText("");
+        } else {
+            nameText.setText(player.getPlayerName());
+            scoreText.setText(String.valueOf(player.getScore()));
+            difficultyText.setText(getDifficultyText(player.getDifficulty()));
+            dateText.setText(player.getPlayDate() != null ? DATE_FORMAT.format(player.getPlayDate()) : "");
+        }
+        setGraphic(scoreItem);
+    }
+
+    private static String getDifficultyText(String difficulty) {
+        switch (difficulty) {
+            case "EASY": return "DỄ";
+            case "MEDIUM": return "TRUNG BÌNH";
+            case "HARD": return "KHÓ";
+            default: return difficulty;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.snakegame.controller;
+
+import com.snakegame.database.LeaderboardCache;
+import com.snakegame.model.Player;
+import javafx.application.Platform;
+import javafx.collections.ObservableListBase;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Danh sách điểm cho ListView, đọc từng trang PAGE_SIZE dòng theo keyset (score DESC, id) trên luồng nền.
+ *
+ * - Chỉ giữ tối đa MAX_PAGES trang gần dùng nhất; trang bị bỏ được đọc lại từ con trỏ của nó khi
+ *   cuộn ngược lên. Mỗi trang chỉ để lại một con trỏ (score, id), nên bộ nhớ gần như không đổi
+ *   dù cuộn sâu tới đâu.
+ * - Cuộn gần cuối trang → đọc trước trang kế (hoặc trang trước khi cuộn lên).
+ * - Danh sách dài dần khi đọc thêm trang (keyset không biết trước tổng số dòng).
+ * - Trang bằng đúng cỡ LeaderboardCache: trang 0 lấy từ cache (xem HighScoreController), database
+ *   chỉ được đọc khi cuộn qua nó.
+ * - Dòng của trang chưa đọc xong là null; ListView được báo cập nhật khi trang về.
+ * - Mọi thay đổi và callback đều trên luồng giao diện.
+ */
+class ScorePageList extends ObservableListBase<Player> {
+    static final int PAGE_SIZE = LeaderboardCache.CAPACITY;
+    private static final int MAX_PAGES = 15;
+    private static final int PREFETCH_ROWS = 6;
+
+    private static final ExecutorService PAGER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "score-pager");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Đọc tối đa limit dòng đứng sau after (null = từ đầu); chạy trên luồng nền. */
+    @FunctionalInterface
+    interface PageLoader {
+        List<Player> load(Player after, int limit) throws SQLException;
+    }
+
+    private final PageLoader loader;
+    // cursors.get(p) = dòng cuối của trang p - 1 (chỉ score và id), null với trang 0
+    private final List<Player> cursors = new ArrayList<>();
+    private final Map<Integer, Player[]> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Player[]> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+    private int size;
+    private boolean failed;
+    private boolean disposed;
+    private Consumer<Boolean> onFirstPage;
+    private int pageLoads;
+
+    ScorePageList(PageLoader loader) {
+        this.loader = loader;
+        cursors.add(null);
+        request(0);
+    }
+
+    /** Gọi (trên luồng giao diện) khi trang đầu về: true nếu đọc được, false nếu lỗi. */
+    void setOnFirstPage(Consumer<Boolean> onFirstPage) {
+        this.onFirstPage = onFirstPage;
+    }
+
+    /** Ngừng đọc trang; kết quả còn đang chạy bị bỏ. */
+    void dispose() {
+        disposed = true;
+        pages.clear();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Player get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        int page = index / PAGE_SIZE;
+        int row = index % PAGE_SIZE;
+        if (row >= PAGE_SIZE - PREFETCH_ROWS) request(page + 1);
+        else if (row < PREFETCH_ROWS && page > 0) request(page - 1);
+
+        Player[] rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+            return null;
+        }
+        return row < rows.length ? rows[row] : null; // đọc lại có thể ít dòng hơn nếu dữ liệu đã đổi
+    }
+
+    // ========== LOAD ==========
+    private void request(int page) {
+        // trang p chỉ đọc được khi đã biết dòng cuối của trang p - 1
+        if (disposed || failed || page >= cursors.size() || pages.containsKey(page) || !loading.add(page)) return;
+        Player after = cursors.get(page);
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load(after, PAGE_SIZE);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, PAGER).whenComplete((rows, error) -> Platform.runLater(() -> onLoaded(page, rows, error)));
+    }
+
+    private void onLoaded(int page, List<Player> rows, Throwable error) {
+        loading.remove(page);
+        if (disposed) return;
+        if (error != null) {
+            // không thử lại liên tục mỗi lần ListView vẽ lại; đổi tab hoặc mở lại màn hình để thử lại
+            failed = true;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            System.err.println("Error loading scores page " + page + ": " + cause.getMessage());
+            if (page == 0 && onFirstPage != null) onFirstPage.accept(false);
+            return;
+        }
+
+        pageLoads++;
+        pages.put(page, rows.toArray(new Player[0]));
+        int from = page * PAGE_SIZE;
+        beginChange();
+        if (from == size) {
+            // trang mới ở cuối danh sách
+            size += rows.size();
+            if (rows.size() == PAGE_SIZE && page + 1 == cursors.size()) {
+                Player last = rows.get(rows.size() - 1);
+                cursors.add(new Player(last.getId(), null, last.getScore(), null, null));
+            }
+            if (!rows.isEmpty()) nextAdd(from, size);
+        } else {
+            // trang đọc lại sau khi bị bỏ khỏi bộ nhớ: các ô đang hiện null cần vẽ lại
+            int to = Math.min(from + PAGE_SIZE, size);
+            nextReplace(from, to, Collections.nCopies(to - from, null));
+        }
+        endChange();
+
+        if (page == 0 && pageLoads == 1 && onFirstPage != null) onFirstPage.accept(true);
+    }
+
+    @Override
+    public String toString() {
+        return "ScorePageList{size=" + size + ", pages=" + pages.keySet() + ", cursors=" + cursors.size()
+                + ", pageLoads=" + pageLoads + "}";
+    }
+}
@@ -0,0 +1,18 @@
+package com.snakegame.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Nguồn tạo kết nối mới cho ConnectionPool.
+ * Mặc định dùng DriverManager; thử nghiệm có thể đưa vào một JDBC giả / nhúng (H2, proxy...).
+ */
+@FunctionalInterface
+public interface ConnectionFactory {
+    Connection create() throws SQLException;
+
+    static ConnectionFactory driverManager(String url, String username, String password) {
+        return () -> DriverManager.getConnection(url, username, password);
+    }
+}
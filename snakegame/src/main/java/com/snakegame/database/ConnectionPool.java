@@ -0,0 +1,224 @@
+package com.snakegame.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool kết nối JDBC nhỏ, tự phục hồi.
+ *
+ * - Kiểm tra kết nối khi mượn (Connection.isValid); kết nối chết (MySQL đóng kết nối rảnh) được
+ *   bỏ và mở lại, nên lỗi mạng thoáng qua không làm hỏng mọi lần gọi sau cho tới khi khởi động lại.
+ * - Mở kết nối thất bại → chờ lùi dần (backoff) trước lần thử kế, trong lúc đó borrow() báo lỗi
+ *   ngay thay vì treo luồng gọi.
+ * - Mỗi kết nối giữ cache PreparedStatement theo câu SQL.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final long INITIAL_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final int validationTimeoutSeconds;
+    private final long borrowTimeoutMillis;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    // backoff khi không mở được kết nối
+    private long backoffMillis;
+    private long nextConnectAttemptNanos;
+
+    // metrics
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong connectsOpened = new AtomicLong();
+    private final AtomicLong connectFailures = new AtomicLong();
+    private final AtomicLong invalidDiscarded = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, int validationTimeoutSeconds, long borrowTimeoutMillis) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize phải >= 1: " + maxSize);
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public static ConnectionPool fromConfig(DatabaseConfig config) {
+        return new ConnectionPool(
+                ConnectionFactory.driverManager(config.getUrl(), config.getUsername(), config.getPassword()),
+                config.getPoolSize(), config.getValidationTimeoutSeconds(), config.getBorrowTimeoutMillis());
+    }
+
+    // ========== BORROW / RELEASE ==========
+    /** Mượn một kết nối đã kiểm tra; dùng trong try-with-resources, close() trả lại pool. */
+    public PooledConnection borrow() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Hết thời gian chờ kết nối (" + borrowTimeoutMillis + " ms, pool " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Bị ngắt khi chờ kết nối", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pc;
+            while ((pc = pollIdle()) != null) {
+                if (isValid(pc)) return pc.lend();
+                invalidDiscarded.incrementAndGet();
+                pc.closeQuietly();
+            }
+            return open().lend();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    void release(PooledConnection pc) {
+        synchronized (this) {
+            if (closed) pc.closeQuietly();
+            else idle.push(pc); // LIFO: kết nối vừa dùng ít khả năng đã bị server đóng
+        }
+        permits.release();
+    }
+
+    private synchronized PooledConnection pollIdle() throws SQLException {
+        if (closed) throw new SQLException("Pool đã đóng");
+        return idle.poll();
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.getConnection().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection open() throws SQLException {
+        synchronized (this) {
+            long wait = nextConnectAttemptNanos - System.nanoTime();
+            if (backoffMillis > 0 && wait > 0) {
+                // lỗi tạm thời: người gọi (ScoreWriter) thử lại sau, không coi là lỗi của dữ liệu
+                throw new SQLTransientConnectionException("Database chưa sẵn sàng, thử lại sau " + TimeUnit.NANOSECONDS.toMillis(wait) + " ms");
+            }
+        }
+        try {
+            Connection c = factory.create();
+            connectsOpened.incrementAndGet();
+            synchronized (this) {
+                backoffMillis = 0;
+            }
+            return new PooledConnection(this, c);
+        } catch (SQLException e) {
+            connectFailures.incrementAndGet();
+            synchronized (this) {
+                backoffMillis = backoffMillis == 0 ? INITIAL_BACKOFF_MILLIS : Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+                nextConnectAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+            }
+            throw e;
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrows.incrementAndGet();
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            for (PooledConnection pc : idle) pc.closeQuietly();
+            idle.clear();
+        }
+    }
+
+    // ========== METRICS ==========
+    public synchronized int getIdleCount() { return idle.size(); }
+    public int getActiveCount() { return maxSize - permits.availablePermits(); }
+    public int getMaxSize() { return maxSize; }
+    public long getBorrowCount() { return borrows.get(); }
+    public long getConnectsOpened() { return connectsOpened.get(); }
+    public long getConnectFailures() { return connectFailures.get(); }
+    public long getInvalidDiscarded() { return invalidDiscarded.get(); }
+    public double getMaxWaitMillis() { return maxWaitNanos.get() / 1_000_000.0; }
+
+    public double getAverageWaitMillis() {
+        long n = borrows.get();
+        return n == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / n;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool{active=%d, idle=%d, max=%d, borrows=%d, waitAvg=%.2fms, waitMax=%.2fms, "
+                        + "opened=%d, failures=%d, discarded=%d}",
+                getActiveCount(), getIdleCount(), maxSize, getBorrowCount(), getAverageWaitMillis(), getMaxWaitMillis(),
+                getConnectsOpened(), getConnectFailures(), getInvalidDiscarded());
+    }
+
+    // ========== CONNECTION ==========
+    /** Kết nối mượn từ pool. close() trả lại pool chứ không đóng kết nối thật. */
+    public static final class PooledConnection implements AutoCloseable {
+        private final ConnectionPool pool;
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private boolean inUse;
+
+        private PooledConnection(ConnectionPool pool, Connection connection) {
+            this.pool = pool;
+            this.connection = connection;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /** PreparedStatement dùng lại theo câu SQL; tham số cũ đã được xóa. Không tự đóng statement này. */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null || stmt.isClosed()) {
+                stmt = connection.prepareStatement(sql);
+                statements.put(sql, stmt);
+            } else {
+                stmt.clearParameters();
+            }
+            return stmt;
+        }
+
+        private PooledConnection lend() {
+            inUse = true;
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (!inUse) return; // close() hai lần không trả lại pool hai lần
+            inUse = false;
+            pool.release(this);
+        }
+
+        private void closeQuietly() {
+            try {
+                connection.close(); // đóng luôn các statement của nó
+            } catch (SQLException ignored) {
+            }
+            statements.clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.snakegame.database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Cấu hình lưu điểm: đọc /database.properties trên classpath, system property cùng tên
+ * (-Dsnakegame.db.url=...) ghi đè. Thiếu cả hai thì dùng giá trị mặc định cũ.
+ *
+ * snakegame.db.backend = mysql (mặc định) hoặc file (FileScoreRepository tại snakegame.db.file).
+ */
+public class DatabaseConfig {
+    private static final String RESOURCE = "/database.properties";
+    public static final String BACKEND_MYSQL = "mysql";
+    public static final String BACKEND_FILE = "file";
+
+    private final String backend;
+    private final String filePath;
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int poolSize;
+    private final int validationTimeoutSeconds;
+    private final long borrowTimeoutMillis;
+
+    public DatabaseConfig(String backend, String filePath, String url, String username, String password, int poolSize,
+                          int validationTimeoutSeconds, long borrowTimeoutMillis) {
+        this.backend = backend;
+        this.filePath = filePath;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public static DatabaseConfig load() {
+        Properties file = new Properties();
+        try (InputStream is = DatabaseConfig.class.getResourceAsStream(RESOURCE)) {
+            if (is != null) file.load(is);
+        } catch (IOException e) {
+            System.err.println("Không đọc được " + RESOURCE + ": " + e.getMessage());
+        }
+        return new DatabaseConfig(
+                get(file, "snakegame.db.backend", BACKEND_MYSQL).toLowerCase(),
+                get(file, "snakegame.db.file", "scores.dat"),
+                get(file, "snakegame.db.url", "jdbc:mysql://localhost:3307/snake_game?useSSL=false&serverTimezone=UTC"),
+                get(file, "snakegame.db.user", "root"),
+                get(file, "snakegame.db.password", "12345678"),
+                Integer.parseInt(get(file, "snakegame.db.poolSize", "4")),
+                Integer.parseInt(get(file, "snakegame.db.validationTimeoutSeconds", "2")),
+                Long.parseLong(get(file, "snakegame.db.borrowTimeoutMillis", "3000")));
+    }
+
+    private static String get(Properties file, String key, String defaultValue) {
+        return System.getProperty(key, file.getProperty(key, defaultValue)).trim();
+    }
+
+    public String getBackend() { return backend; }
+    public String getFilePath() { return filePath; }
+    public String getUrl() { return url; }
+    public String getUsername() { return username; }
+    public String getPassword() { return password; }
+    public int getPoolSize() { return poolSize; }
+    public int getValidationTimeoutSeconds() { return validationTimeoutSeconds; }
+    public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+}
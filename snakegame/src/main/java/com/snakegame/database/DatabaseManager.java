@@ -1,25 +1,34 @@
 package com.snakegame.database;
 
+import com.snakegame.jfr.DatabaseCallEvent;
 import com.snakegame.model.Player;
-import java.sql.*;
-import java.util.ArrayList;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class DatabaseManager {
-    private static final String URL = "jdbc:mysql://localhost:3307/snake_game?useSSL=false&serverTimezone=UTC";
-    private static final String USERNAME = "root";
-    private static final String PASSWORD = "12345678";
-    
     private static DatabaseManager instance;
-    private Connection connection;
+    private static CompletableFuture<DatabaseManager> ready;
+    private final ScoreRepository repository;
+    private final ScoreWriter scoreWriter;
+    private final LeaderboardCache leaderboard;
+
+    /** Một lần gọi xuống repository, để ghi event JFR quanh nó. */
+    @FunctionalInterface
+    private interface RepositoryCall<T> {
+        T call() throws SQLException;
+    }
 
     private DatabaseManager() {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-        } catch (ClassNotFoundException | SQLException e) {
-            System.err.println("Database connection failed: " + e.getMessage());
-        }
+        repository = createRepository(DatabaseConfig.load());
+        scoreWriter = new ScoreWriter(this::savePlayers);
+        // đọc đúng trang đầu của keyset (cùng câu lệnh, cùng thứ tự) để trang 1 nối tiếp được từ dòng cuối
+        leaderboard = new LeaderboardCache((key, limit) -> record("SELECT_TOP", key, 0,
+                () -> repository.getScoresAfter(LeaderboardCache.ALL.equals(key) ? null : key, null, limit)));
     }
 
     public static synchronized DatabaseManager getInstance() {
@@ -29,88 +38,169 @@ public class DatabaseManager {
         return instance;
     }
 
-    public Connection getConnection() {
-        return connection;
+    /**
+     * Khởi tạo trên luồng nền "db-warmup" (nạp driver, mở file điểm) rồi nạp sẵn bảng xếp hạng -
+     * lần nạp đầu cũng mở kết nối MySQL đầu tiên. Gọi lúc khởi động; gọi lại trả về cùng future,
+     * trừ khi lần trước đã thất bại - khi đó thử khởi tạo lại (người dùng bấm lưu lại, đổi tab...).
+     * Màn hình nên dùng future này thay vì getInstance() để không chờ database trên luồng giao diện.
+     */
+    public static synchronized CompletableFuture<DatabaseManager> warmUp() {
+        if (ready == null || ready.isCompletedExceptionally()) {
+            CompletableFuture<DatabaseManager> future = new CompletableFuture<>();
+            ready = future;
+            Thread t = new Thread(() -> {
+                try {
+                    long start = System.nanoTime();
+                    DatabaseManager db = getInstance();
+                    System.out.println("Database ready in " + (System.nanoTime() - start) / 1_000_000 + " ms: "
+                            + db.repository.getClass().getSimpleName());
+                    db.leaderboard.warmAsync();
+                    future.complete(db);
+                } catch (Throwable e) {
+                    // cả Error (ExceptionInInitializerError, NoClassDefFoundError của driver / cấu hình):
+                    // future không hoàn thành thì Main.stop() và các trang bảng xếp hạng chờ join() mãi
+                    System.err.println("Database warm-up failed: " + e);
+                    future.completeExceptionally(e);
+                }
+            }, "db-warmup");
+            t.setDaemon(true);
+            t.start();
+        }
+        return ready;
+    }
+
+    private static ScoreRepository createRepository(DatabaseConfig config) {
+        if (DatabaseConfig.BACKEND_FILE.equals(config.getBackend())) {
+            try {
+                return new FileScoreRepository(Paths.get(config.getFilePath()));
+            } catch (IOException e) {
+                System.err.println("Cannot open score file " + config.getFilePath() + ", using MySQL: " + e.getMessage());
+            }
+        } else if (!DatabaseConfig.BACKEND_MYSQL.equals(config.getBackend())) {
+            System.err.println("Unknown snakegame.db.backend '" + config.getBackend() + "', using MySQL");
+        }
+
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            System.err.println("Database driver not found: " + e.getMessage());
+        }
+        // kết nối được mở khi cần và tự mở lại nếu MySQL đã đóng kết nối rảnh
+        return new MySqlScoreRepository(ConnectionPool.fromConfig(config));
+    }
+
+    public ScoreRepository getRepository() {
+        return repository;
+    }
+
+    public LeaderboardCache getLeaderboard() {
+        return leaderboard;
     }
 
     public boolean savePlayer(Player player) {
-        String sql = "INSERT INTO players (player_name, score, difficulty) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, player.getPlayerName());
-            stmt.setInt(2, player.getScore());
-            stmt.setString(3, player.getDifficulty());
-            return stmt.executeUpdate() > 0;
+        try {
+            savePlayers(List.of(player));
+            return true;
         } catch (SQLException e) {
             System.err.println("Error saving player: " + e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Lưu điểm trên luồng nền, không chặn giao diện. Future hoàn thành với true khi đã ghi,
+     * false nếu lần ghi đầu lỗi (điểm vẫn được thử lại tới khi ghi được),
+     * hoàn thành với lỗi nếu database từ chối chính điểm này (dữ liệu không hợp lệ, không thử lại).
+     * Future hoàn thành trên luồng ghi - giao diện cần Platform.runLater.
+     */
+    public CompletableFuture<Boolean> savePlayerAsync(Player player) {
+        return scoreWriter.submit(player);
+    }
+
+    // cả batch được ghi hoặc không gì (để ScoreWriter thử lại nguyên batch); ghi xong mới cập nhật cache
+    void savePlayers(List<Player> players) throws SQLException {
+        record("INSERT", null, players.size(), () -> {
+            repository.savePlayers(players);
+            return null;
+        });
+        for (Player player : players) leaderboard.onSaved(player);
+    }
+
+    // top-N đọc qua LeaderboardCache; lỗi database → danh sách rỗng (đã ghi log)
     public List<Player> getTopPlayers(int limit) {
-        List<Player> players = new ArrayList<>();
-        String sql = "SELECT * FROM players ORDER BY score DESC LIMIT ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setInt(1, limit);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                players.add(new Player(
-                    rs.getInt("id"),
-                    rs.getString("player_name"),
-                    rs.getInt("score"),
-                    rs.getString("difficulty"),
-                    rs.getTimestamp("play_date").toLocalDateTime()
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting top players: " + e.getMessage());
-        }
-        return players;
+        return leaderboard.getTop(LeaderboardCache.ALL, limit);
     }
 
+    /** Điểm cao nhất của mỗi người chơi ở độ khó này. */
     public List<Player> getTopPlayersByDifficulty(String difficulty, int limit) {
-        List<Player> players = new ArrayList<>();
-        String sql = "SELECT * FROM players WHERE difficulty = ? ORDER BY score DESC LIMIT ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, difficulty);
-            stmt.setInt(2, limit);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                players.add(new Player(
-                    rs.getInt("id"),
-                    rs.getString("player_name"),
-                    rs.getInt("score"),
-                    rs.getString("difficulty"),
-                    rs.getTimestamp("play_date").toLocalDateTime()
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting top players by difficulty: " + e.getMessage());
-        }
-        return players;
+        return leaderboard.getTop(difficulty, limit);
+    }
+
+    /**
+     * Trang đầu của bảng xếp hạng (tối đa LeaderboardCache.CAPACITY dòng), lấy từ LeaderboardCache nên
+     * đổi tab không truy vấn database. Trang sau đọc bằng getScoresAfter từ dòng cuối của trang này.
+     */
+    public List<Player> getFirstScoresPage(String difficulty) throws SQLException {
+        String key = difficulty != null ? difficulty : LeaderboardCache.ALL;
+        List<Player> page = leaderboard.getFirstPage(key);
+        return page != null ? page : getScoresAfter(difficulty, null, LeaderboardCache.CAPACITY);
+    }
+
+    /** Trang bảng xếp hạng theo keyset - xem ScoreRepository.getScoresAfter. Chặn tới khi đọc xong. */
+    public List<Player> getScoresAfter(String difficulty, Player after, int limit) throws SQLException {
+        return record("SELECT_PAGE", difficulty != null ? difficulty : LeaderboardCache.ALL, 0,
+                () -> repository.getScoresAfter(difficulty, after, limit));
     }
 
     public int getHighScore(String difficulty) {
-        String sql = "SELECT MAX(score) FROM players WHERE difficulty = ?";
-        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-            stmt.setString(1, difficulty);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
+        try {
+            return record("SELECT_HIGH_SCORE", difficulty, 1, () -> repository.getHighScore(difficulty));
         } catch (SQLException e) {
             System.err.println("Error getting high score: " + e.getMessage());
+            return 0;
         }
-        return 0;
     }
 
-    public void close() {
+    // event snakegame.DatabaseCall: thời lượng = độ trễ; rows = kích thước danh sách trả về, hoặc rows truyền vào
+    private <T> T record(String kind, String difficulty, int rows, RepositoryCall<T> call) throws SQLException {
+        DatabaseCallEvent event = new DatabaseCallEvent();
+        event.begin();
+        T result = null;
+        boolean success = false;
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+            result = call.call();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.difficulty = difficulty;
+                event.backend = repository.getClass().getSimpleName();
+                event.rows = result instanceof List ? ((List<?>) result).size() : success ? rows : 0;
+                event.success = success;
+                event.commit();
             }
-        } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
         }
     }
-}
 
+    /** Gọi khi thoát: chờ khởi tạo đang chạy rồi đóng; chưa khởi tạo hoặc khởi tạo lỗi thì không làm gì. */
+    public static void shutdown() {
+        CompletableFuture<DatabaseManager> future;
+        synchronized (DatabaseManager.class) {
+            future = ready;
+        }
+        if (future == null) return;
+        try {
+            future.join().close();
+        } catch (CompletionException e) {
+            // database không khởi tạo được: không có gì để đóng
+        }
+    }
+
+    public void close() {
+        scoreWriter.close(5_000); // ghi nốt điểm đang chờ trước khi đóng
+        System.out.println("Database: " + repository + " " + scoreWriter + " " + leaderboard);
+        repository.close();
+    }
+}
@@ -0,0 +1,290 @@
+package com.snakegame.database;
+
+import com.snakegame.model.Player;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Lưu điểm vào một file cục bộ, không cần MySQL: log nhị phân chỉ ghi nối (append-only),
+ * chỉ mục sắp xếp nằm trong bộ nhớ và được dựng lại từ log mỗi lần mở.
+ *
+ * File: MAGIC, VERSION, rồi các bản ghi [int độ dài][payload][int CRC32 của payload].
+ * Payload: long play_date (epoch ms, UTC), int score, rồi difficulty và player_name (short độ dài + UTF-8).
+ * Bản ghi cuối bị cắt dở (mất điện khi đang ghi) hoặc sai CRC được bỏ khi mở, file được cắt về
+ * bản ghi tốt cuối cùng. Mỗi batch ghi một lần rồi force() xuống đĩa.
+ *
+ * Đọc chỉ duyệt đầu TreeSet trong bộ nhớ, không đụng tới đĩa.
+ */
+public class FileScoreRepository implements ScoreRepository {
+    private static final int MAGIC = 0x534E4B53; // "SNKS"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 4096;
+
+    // thứ tự keyset như MySqlScoreRepository: điểm giảm dần, cùng điểm thì id nhỏ (ghi trước) đứng trước.
+    // Viết tay thay cho Comparator.comparingInt(...).thenComparing(...): dựng lại chỉ mục so sánh hàng triệu lần
+    private static final Comparator<Player> ORDER = (a, b) -> {
+        int c = Integer.compare(b.getScore(), a.getScore());
+        return c != 0 ? c : Integer.compare(a.getId(), b.getId());
+    };
+
+    private final Path path;
+    private final FileChannel channel;
+
+    // chỉ mục: mọi ván (danh sách đã sắp xếp - dựng lại chỉ cần một lần sort), và điểm cao nhất
+    // của mỗi người theo độ khó (như bảng high_scores)
+    private final List<Player> all = new ArrayList<>();
+    private final Map<String, NavigableSet<Player>> bestByDifficulty = new HashMap<>();
+    private final Map<String, Player> bestByPlayer = new HashMap<>(); // difficulty + '\n' + tên (chữ thường)
+    private final Map<String, String> difficulties = new HashMap<>();
+    private int nextId = 1;
+
+    public FileScoreRepository(Path path) throws IOException {
+        this.path = path;
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // thời gian dựng lại nằm trong dòng "Database ready in ..." của DatabaseManager.warmUp()
+            rebuild();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // ========== OPEN ==========
+    private void rebuild() throws IOException {
+        if (channel.size() == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(header, 0);
+            channel.force(true);
+            channel.position(HEADER_BYTES);
+            return;
+        }
+
+        // đọc cả file một lần rồi phân tích trong bộ nhớ: nhanh hơn nhiều so với đọc từng bản ghi qua stream
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException(path + " quá lớn: " + size + " byte");
+        ByteBuffer buf = ByteBuffer.allocate((int) size);
+        while (buf.hasRemaining() && channel.read(buf, buf.position()) >= 0) {
+            // đọc tiếp cho tới khi đầy
+        }
+        buf.flip();
+        if (buf.remaining() < HEADER_BYTES || buf.getInt() != MAGIC) {
+            throw new IOException(path + " không phải file điểm của Snake Game");
+        }
+        int version = buf.getInt();
+        if (version != VERSION) throw new IOException(path + ": không hỗ trợ phiên bản " + version);
+
+        long good = HEADER_BYTES;
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= 4) {
+            int length = buf.getInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES || buf.remaining() < length + 4) break; // cắt dở hoặc hỏng
+            int start = buf.position();
+            crc.reset();
+            crc.update(buf.array(), start, length);
+            if ((int) crc.getValue() != buf.getInt(start + length)) break;
+            Player player = decode(buf, nextId++);
+            all.add(player);
+            indexBest(player);
+            buf.position(start + length + 4);
+            good += 8 + length;
+        }
+        all.sort(ORDER);
+
+        if (good < size) {
+            System.err.println("FileScoreRepository: bỏ " + (size - good) + " byte hỏng ở cuối " + path);
+            channel.truncate(good);
+            channel.force(true);
+        }
+        channel.position(good);
+    }
+
+    // ========== WRITE ==========
+    @Override
+    public synchronized void savePlayers(List<Player> players) throws SQLException {
+        List<Player> records = new ArrayList<>(players.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * players.size());
+        long end;
+        try {
+            end = channel.size();
+            DataOutputStream out = new DataOutputStream(bytes);
+            int id = nextId;
+            for (Player player : players) {
+                Player record = normalize(player, id++);
+                byte[] payload = encode(record);
+                CRC32 crc = new CRC32();
+                crc.update(payload, 0, payload.length);
+                out.writeInt(payload.length);
+                out.write(payload);
+                out.writeInt((int) crc.getValue());
+                records.add(record);
+            }
+        } catch (IOException e) {
+            throw new SQLRecoverableException("Không ghi được " + path + ": " + e.getMessage(), e);
+        }
+
+        try {
+            writeFully(ByteBuffer.wrap(bytes.toByteArray()), end);
+            channel.force(false);
+        } catch (IOException e) {
+            // ghi cả batch hoặc không gì: cắt bỏ phần đã ghi dở
+            try {
+                channel.truncate(end);
+            } catch (IOException ignored) {
+            }
+            // lỗi đĩa (đầy, bị khóa...): ScoreWriter thử lại nguyên batch sau backoff
+            throw new SQLRecoverableException("Không ghi được " + path + ": " + e.getMessage(), e);
+        }
+
+        nextId += records.size();
+        for (Player record : records) {
+            int i = Collections.binarySearch(all, record, ORDER);
+            all.add(i < 0 ? -i - 1 : i, record);
+            indexBest(record);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static Player normalize(Player player, int id) {
+        // độ chính xác mili giây, để chỉ mục dựng lại từ file giống hệt chỉ mục lúc ghi
+        LocalDateTime playDate = player.getPlayDate() != null ? player.getPlayDate() : LocalDateTime.now();
+        return new Player(id, player.getPlayerName(), player.getScore(), player.getDifficulty(),
+                playDate.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    // bản ghi không hợp lệ là lỗi của dòng (SQLState 22001 như "Data too long" của MySQL), thử lại vô ích
+    private static byte[] encode(Player player) throws SQLDataException {
+        byte[] difficulty = player.getDifficulty().getBytes(StandardCharsets.UTF_8);
+        byte[] name = player.getPlayerName().getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 4 + 2 + difficulty.length + 2 + name.length;
+        if (length > MAX_RECORD_BYTES) throw new SQLDataException("Tên quá dài: " + player.getPlayerName(), "22001");
+        ByteBuffer buf = ByteBuffer.allocate(length);
+        buf.putLong(player.getPlayDate().toInstant(ZoneOffset.UTC).toEpochMilli());
+        buf.putInt(player.getScore());
+        buf.putShort((short) difficulty.length).put(difficulty);
+        buf.putShort((short) name.length).put(name);
+        return buf.array();
+    }
+
+    private Player decode(ByteBuffer buf, int id) {
+        long millis = buf.getLong();
+        LocalDateTime playDate = LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+        int score = buf.getInt();
+        String difficulty = difficulties.computeIfAbsent(readString(buf), d -> d); // chỉ vài giá trị, dùng chung một String
+        String name = readString(buf);
+        return new Player(id, name, score, difficulty, playDate);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int length = buf.getShort();
+        String s = new String(buf.array(), buf.position(), length, StandardCharsets.UTF_8);
+        buf.position(buf.position() + length);
+        return s;
+    }
+
+    // ========== INDEX ==========
+    private void indexBest(Player player) {
+        // giống ON DUPLICATE KEY UPDATE của high_scores: chỉ thay khi điểm cao hơn hẳn
+        String key = player.getDifficulty() + '\n' + player.getPlayerName().toLowerCase(Locale.ROOT);
+        Player best = bestByPlayer.get(key);
+        if (best != null && best.getScore() >= player.getScore()) return;
+        NavigableSet<Player> board = bestByDifficulty.computeIfAbsent(player.getDifficulty(), k -> new TreeSet<>(ORDER));
+        if (best != null) board.remove(best);
+        board.add(player);
+        bestByPlayer.put(key, player);
+    }
+
+    // ========== READ ==========
+    @Override
+    public synchronized List<Player> getTopPlayers(int limit) {
+        return top(all, limit);
+    }
+
+    @Override
+    public synchronized List<Player> getTopPlayersByDifficulty(String difficulty, int limit) {
+        NavigableSet<Player> board = bestByDifficulty.get(difficulty);
+        return board == null ? new ArrayList<>() : top(board, limit);
+    }
+
+    @Override
+    public synchronized List<Player> getScoresAfter(String difficulty, Player after, int limit) {
+        if (difficulty != null) {
+            NavigableSet<Player> board = bestByDifficulty.get(difficulty);
+            if (board == null) return new ArrayList<>();
+            return top(after == null ? board : board.tailSet(after, false), limit);
+        }
+        int from = 0;
+        if (after != null) {
+            int i = Collections.binarySearch(all, after, ORDER);
+            from = i >= 0 ? i + 1 : -i - 1;
+        }
+        return top(all.subList(from, all.size()), limit);
+    }
+
+    @Override
+    public synchronized int getHighScore(String difficulty) {
+        NavigableSet<Player> board = bestByDifficulty.get(difficulty);
+        return board == null || board.isEmpty() ? 0 : board.first().getScore();
+    }
+
+    // trả bản sao: Player có setter, không để bên ngoài sửa chỉ mục
+    private static List<Player> top(Collection<Player> set, int limit) {
+        List<Player> result = new ArrayList<>(Math.min(limit, set.size()));
+        Iterator<Player> it = set.iterator();
+        while (result.size() < limit && it.hasNext()) {
+            Player p = it.next();
+            result.add(new Player(p.getId(), p.getPlayerName(), p.getScore(), p.getDifficulty(), p.getPlayDate()));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing " + path + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "FileScoreRepository{" + path + ", scores=" + all.size() + ", players=" + bestByPlayer.size() + "}";
+    }
+}
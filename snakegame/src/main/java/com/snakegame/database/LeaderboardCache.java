@@ -0,0 +1,170 @@
+package com.snakegame.database;
+
+import com.snakegame.model.Player;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bảng xếp hạng top-N trong bộ nhớ: một danh sách cho toàn bộ (ALL) và một cho mỗi độ khó.
+ * Mỗi danh sách luôn sắp theo điểm giảm dần và không quá CAPACITY phần tử.
+ *
+ * - Nạp từ database lần đầu được hỏi (miss) hoặc khi warmAsync() lúc khởi động (luồng "leaderboard-loader").
+ * - Mỗi danh sách chính là trang đầu của bảng xếp hạng theo keyset (score DESC, id): màn hình điểm cao
+ *   lấy trang 0 ở đây (getFirstPage) và chỉ đọc database từ trang 1, bắt đầu sau dòng cuối của danh sách.
+ * - Ghi xuyên (write-through): điểm vừa lưu thành công được chèn thẳng vào danh sách đã nạp,
+ *   nên đổi tab trên màn hình điểm cao không cần truy vấn lại. Dòng chèn vào chưa biết id trong
+ *   database nên xếp sau mọi dòng cùng điểm (nó được ghi sau cùng).
+ * - Lưu trong lúc một danh sách đang nạp → kết quả nạp đó không được giữ, lần sau nạp lại.
+ * - ALL liệt kê từng ván; danh sách theo độ khó đọc từ high_scores nên mỗi người chơi chỉ có một dòng
+ *   (điểm cao nhất) - chèn điểm mới sẽ thay dòng cũ của người đó nếu cao hơn.
+ */
+public class LeaderboardCache {
+    public static final String ALL = "ALL";
+    public static final int CAPACITY = 20;
+    private static final String[] WARM_KEYS = {ALL, "EASY", "MEDIUM", "HARD"};
+
+    // cùng thứ tự với keyset ORDER BY score DESC, id; id chưa biết (<= 0, dòng vừa ghi) xếp sau cùng
+    private static final Comparator<Player> ORDER = Comparator.comparingInt(Player::getScore).reversed()
+            .thenComparingInt(p -> p.getId() > 0 ? p.getId() : Integer.MAX_VALUE);
+
+    /** key = ALL hoặc tên độ khó; ném SQLException để không lưu nhầm danh sách rỗng khi database lỗi. */
+    @FunctionalInterface
+    interface Loader {
+        List<Player> load(String key, int limit) throws SQLException;
+    }
+
+    private static final class Board {
+        List<Player> top = new ArrayList<>(CAPACITY + 1);
+        boolean loaded;
+        boolean stale; // có điểm mới trong lúc đang nạp
+    }
+
+    private final Loader loader;
+    private final Map<String, Board> boards = new HashMap<>();
+    private final ExecutorService loaderThread = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "leaderboard-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private long hits;
+    private long misses;
+
+    LeaderboardCache(Loader loader) {
+        this.loader = loader;
+    }
+
+    /** Top tối đa limit người chơi; limit > CAPACITY thì đọc thẳng từ database, không qua cache. */
+    public List<Player> getTop(String key, int limit) {
+        try {
+            return top(key, limit);
+        } catch (SQLException e) {
+            // database lỗi: không đánh dấu đã nạp, lần sau thử lại
+            System.err.println("Error loading leaderboard " + key + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Trang đầu (tối đa CAPACITY dòng) cho phân trang keyset; lỗi database được ném ra thay vì trả về rỗng.
+     * null nếu trang đầy mà dòng cuối là điểm vừa ghi (chưa có id) - không làm con trỏ cho trang sau
+     * được, người gọi đọc trang đầu từ database.
+     */
+    public List<Player> getFirstPage(String key) throws SQLException {
+        List<Player> rows = top(key, CAPACITY);
+        if (rows.size() == CAPACITY && rows.get(CAPACITY - 1).getId() <= 0) return null;
+        return rows;
+    }
+
+    private List<Player> top(String key, int limit) throws SQLException {
+        if (limit > CAPACITY) {
+            synchronized (this) {
+                misses++;
+            }
+            return loader.load(key, limit);
+        }
+
+        Board board;
+        synchronized (this) {
+            List<Player> cached = cached(key, limit);
+            if (cached != null) return cached;
+            board = boards.computeIfAbsent(key, k -> new Board());
+            misses++;
+            board.stale = false;
+        }
+
+        List<Player> rows = loader.load(key, CAPACITY);
+        synchronized (this) {
+            if (!board.stale && !board.loaded) {
+                board.top = new ArrayList<>(rows);
+                board.top.sort(ORDER);
+                board.loaded = true;
+            }
+        }
+        return List.copyOf(rows.subList(0, Math.min(limit, rows.size())));
+    }
+
+    // null nếu chưa nạp; gọi khi đang giữ khóa
+    private List<Player> cached(String key, int limit) {
+        Board board = boards.get(key);
+        if (board == null || !board.loaded || limit > CAPACITY) return null;
+        hits++;
+        return List.copyOf(board.top.subList(0, Math.min(limit, board.top.size())));
+    }
+
+    /** Gọi sau khi điểm đã được ghi thành công vào database. */
+    public synchronized void onSaved(Player player) {
+        insert(boards.computeIfAbsent(ALL, k -> new Board()), player, false);
+        insert(boards.computeIfAbsent(player.getDifficulty(), k -> new Board()), player, true);
+    }
+
+    private static void insert(Board board, Player player, boolean bestPerPlayer) {
+        if (!board.loaded) {
+            board.stale = true;
+            return;
+        }
+        List<Player> top = board.top;
+        if (bestPerPlayer) {
+            // cùng so khớp không phân biệt hoa thường như khóa unique của MySQL
+            for (int j = 0; j < top.size(); j++) {
+                Player old = top.get(j);
+                if (!old.getPlayerName().equalsIgnoreCase(player.getPlayerName())) continue;
+                if (old.getScore() >= player.getScore()) return;
+                top.remove(j);
+                break;
+            }
+        }
+        int i = Collections.binarySearch(top, player, ORDER);
+        if (i < 0) i = -i - 1;
+        while (i < top.size() && ORDER.compare(top.get(i), player) <= 0) i++;
+        if (i >= CAPACITY) return;
+        top.add(i, player);
+        if (top.size() > CAPACITY) top.remove(top.size() - 1);
+    }
+
+    /** Nạp sẵn mọi danh sách trên luồng nền, để lần mở màn hình điểm cao đầu tiên không phải chờ. */
+    public void warmAsync() {
+        loaderThread.execute(() -> {
+            long start = System.nanoTime();
+            for (String key : WARM_KEYS) getTop(key, CAPACITY);
+            System.out.println("Leaderboard warmed in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        });
+    }
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+
+    @Override
+    public synchronized String toString() {
+        return "LeaderboardCache{hits=" + hits + ", misses=" + misses + ", loaded=" + boards.entrySet().stream()
+                .filter(e -> e.getValue().loaded).map(Map.Entry::getKey).sorted().collect(Collectors.toList()) + "}";
+    }
+}
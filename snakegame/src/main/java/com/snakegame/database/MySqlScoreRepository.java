@@ -0,0 +1,174 @@
+package com.snakegame.database;
+
+import com.snakegame.model.Player;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Lưu điểm vào MySQL qua ConnectionPool (bảng players + high_scores, xem database/schema.sql). */
+public class MySqlScoreRepository implements ScoreRepository {
+    // play_date lấy từ lúc kết thúc ván, không phải lúc ghi (ghi có thể trễ - xem ScoreWriter)
+    private static final String SAVE_PLAYER_SQL =
+            "INSERT INTO players (player_name, score, difficulty, play_date) VALUES (?, ?, ?, ?)";
+    // high_scores giữ điểm cao nhất của mỗi (difficulty, player_name), cập nhật cùng transaction với players.
+    // play_date phải gán trước score: vế so sánh cần score cũ. Bằng điểm thì giữ ngày đạt được trước.
+    private static final String UPSERT_HIGH_SCORE_SQL =
+            "INSERT INTO high_scores (player_name, score, difficulty, play_date) VALUES (?, ?, ?, ?) "
+            + "ON DUPLICATE KEY UPDATE play_date = IF(VALUES(score) > score, VALUES(play_date), play_date), "
+            + "score = GREATEST(score, VALUES(score))";
+    private static final String TOP_PLAYERS_SQL =
+            "SELECT * FROM players ORDER BY score DESC LIMIT ?";
+    // đọc từ high_scores (idx_difficulty_score): mỗi người chơi một dòng, chi phí theo số người chơi chứ không theo số ván
+    private static final String TOP_PLAYERS_BY_DIFFICULTY_SQL =
+            "SELECT * FROM high_scores WHERE difficulty = ? ORDER BY score DESC, play_date LIMIT ?";
+    // keyset theo đúng thứ tự của idx_score / idx_difficulty_score (InnoDB nối id vào cuối chỉ mục phụ);
+    // "score <= ?" là khoảng quét trên chỉ mục, phần còn lại chỉ lọc các dòng cùng điểm
+    private static final String SCORES_FIRST_SQL =
+            "SELECT * FROM players ORDER BY score DESC, id LIMIT ?";
+    private static final String SCORES_AFTER_SQL =
+            "SELECT * FROM players WHERE score <= ? AND (score < ? OR id > ?) ORDER BY score DESC, id LIMIT ?";
+    private static final String SCORES_BY_DIFFICULTY_FIRST_SQL =
+            "SELECT * FROM high_scores WHERE difficulty = ? ORDER BY score DESC, id LIMIT ?";
+    private static final String SCORES_BY_DIFFICULTY_AFTER_SQL =
+            "SELECT * FROM high_scores WHERE difficulty = ? AND score <= ? AND (score < ? OR id > ?) "
+            + "ORDER BY score DESC, id LIMIT ?";
+    private static final String HIGH_SCORE_SQL =
+            "SELECT MAX(score) FROM high_scores WHERE difficulty = ?";
+
+    private final ConnectionPool pool;
+
+    public MySqlScoreRepository(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    // một batch JDBC trong một transaction: hoặc ghi cả batch (players + high_scores), hoặc không ghi gì
+    // (để thử lại nguyên batch)
+    @Override
+    public void savePlayers(List<Player> players) throws SQLException {
+        try (ConnectionPool.PooledConnection c = pool.borrow()) {
+            Connection conn = c.getConnection();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement stmt = c.prepare(SAVE_PLAYER_SQL);
+                PreparedStatement upsert = c.prepare(UPSERT_HIGH_SCORE_SQL);
+                for (Player player : players) {
+                    bindPlayer(stmt, player);
+                    stmt.addBatch();
+                    bindPlayer(upsert, player);
+                    upsert.addBatch();
+                }
+                stmt.executeBatch();
+                upsert.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ignored) {
+                }
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+    }
+
+    private static void bindPlayer(PreparedStatement stmt, Player player) throws SQLException {
+        stmt.setString(1, player.getPlayerName());
+        stmt.setInt(2, player.getScore());
+        stmt.setString(3, player.getDifficulty());
+        LocalDateTime playDate = player.getPlayDate() != null ? player.getPlayDate() : LocalDateTime.now();
+        stmt.setTimestamp(4, Timestamp.valueOf(playDate));
+    }
+
+    @Override
+    public List<Player> getTopPlayers(int limit) throws SQLException {
+        try (ConnectionPool.PooledConnection c = pool.borrow()) {
+            PreparedStatement stmt = c.prepare(TOP_PLAYERS_SQL);
+            stmt.setInt(1, limit);
+            return readPlayers(stmt);
+        }
+    }
+
+    @Override
+    public List<Player> getTopPlayersByDifficulty(String difficulty, int limit) throws SQLException {
+        try (ConnectionPool.PooledConnection c = pool.borrow()) {
+            PreparedStatement stmt = c.prepare(TOP_PLAYERS_BY_DIFFICULTY_SQL);
+            stmt.setString(1, difficulty);
+            stmt.setInt(2, limit);
+            return readPlayers(stmt);
+        }
+    }
+
+    @Override
+    public List<Player> getScoresAfter(String difficulty, Player after, int limit) throws SQLException {
+        try (ConnectionPool.PooledConnection c = pool.borrow()) {
+            PreparedStatement stmt;
+            if (difficulty == null) {
+                stmt = c.prepare(after == null ? SCORES_FIRST_SQL : SCORES_AFTER_SQL);
+            } else {
+                stmt = c.prepare(after == null ? SCORES_BY_DIFFICULTY_FIRST_SQL : SCORES_BY_DIFFICULTY_AFTER_SQL);
+            }
+            int i = 1;
+            if (difficulty != null) stmt.setString(i++, difficulty);
+            if (after != null) {
+                stmt.setInt(i++, after.getScore());
+                stmt.setInt(i++, after.getScore());
+                stmt.setInt(i++, after.getId());
+            }
+            stmt.setInt(i, limit);
+            return readPlayers(stmt);
+        }
+    }
+
+    private static List<Player> readPlayers(PreparedStatement stmt) throws SQLException {
+        List<Player> players = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) players.add(readPlayer(rs));
+        }
+        return players;
+    }
+
+    private static Player readPlayer(ResultSet rs) throws SQLException {
+        return new Player(
+            rs.getInt("id"),
+            rs.getString("player_name"),
+            rs.getInt("score"),
+            rs.getString("difficulty"),
+            rs.getTimestamp("play_date").toLocalDateTime()
+        );
+    }
+
+    @Override
+    public int getHighScore(String difficulty) throws SQLException {
+        try (ConnectionPool.PooledConnection c = pool.borrow()) {
+            PreparedStatement stmt = c.prepare(HIGH_SCORE_SQL);
+            stmt.setString(1, difficulty);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    @Override
+    public String toString() {
+        return "MySqlScoreRepository{" + pool + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.snakegame.database;
+
+import com.snakegame.model.Player;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Nơi lưu điểm. DatabaseManager chọn một cài đặt theo snakegame.db.backend:
+ * - mysql: MySqlScoreRepository (mặc định)
+ * - file:  FileScoreRepository - file log cục bộ, không cần server (máy kiosk offline)
+ *
+ * Mọi cài đặt cùng ngữ nghĩa: getTopPlayers liệt kê từng ván, getTopPlayersByDifficulty chỉ giữ
+ * điểm cao nhất của mỗi người chơi; cùng điểm thì ván sớm hơn đứng trước.
+ * Lỗi được báo bằng SQLException (kể cả lỗi file) để ScoreWriter và LeaderboardCache xử lý như nhau.
+ */
+public interface ScoreRepository extends AutoCloseable {
+
+    /** Ghi cả danh sách theo thứ tự, hoặc không ghi gì nếu lỗi. */
+    void savePlayers(List<Player> players) throws SQLException;
+
+    default void savePlayer(Player player) throws SQLException {
+        savePlayers(List.of(player));
+    }
+
+    List<Player> getTopPlayers(int limit) throws SQLException;
+
+    List<Player> getTopPlayersByDifficulty(String difficulty, int limit) throws SQLException;
+
+    /**
+     * Một trang bảng xếp hạng theo keyset (score DESC, id): các dòng đứng sau after (null = từ đầu).
+     * Chỉ score và id của after được dùng. Không dùng OFFSET, nên trang sâu cũng nhanh như trang đầu.
+     * difficulty null → mọi ván (players), có difficulty → điểm cao nhất của mỗi người (high_scores).
+     */
+    List<Player> getScoresAfter(String difficulty, Player after, int limit) throws SQLException;
+
+    /** Điểm cao nhất của độ khó, 0 nếu chưa có ván nào. */
+    int getHighScore(String difficulty) throws SQLException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,225 @@
+package com.snakegame.database;
+
+import com.snakegame.model.Player;
+
+import java.sql.DataTruncation;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ghi điểm kiểu write-behind: luồng giao diện chỉ xếp điểm vào hàng đợi, luồng nền "score-writer"
+ * gom các điểm đang chờ thành một batch JDBC (addBatch / executeBatch) rồi ghi.
+ *
+ * - Thứ tự: một luồng ghi, hàng đợi FIFO, batch lỗi được thử lại trước khi lấy điểm mới.
+ * - Ít nhất một lần: điểm chỉ rời hàng đợi khi đã commit; lỗi thì thử lại với backoff,
+ *   nên (hiếm) có thể ghi trùng nếu commit thành công mà không nhận được phản hồi.
+ * - Lỗi của chính dữ liệu (tên quá dài, vi phạm ràng buộc...) thì thử lại cũng vô ích: batch được ghi
+ *   lại từng dòng theo thứ tự, dòng hỏng bị bỏ (ghi log) để không chặn mọi điểm sau nó.
+ * - submit() trả về future: true khi đã ghi, false khi lần ghi đầu thất bại (điểm vẫn được thử lại),
+ *   hoàn thành với lỗi khi điểm bị bỏ vì dữ liệu không hợp lệ.
+ */
+public class ScoreWriter {
+    private static final int MAX_BATCH = 50;
+    private static final long INITIAL_RETRY_MILLIS = 1_000;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    /** Ghi một batch theo đúng thứ tự; ném SQLException để ScoreWriter thử lại. */
+    @FunctionalInterface
+    interface BatchSink {
+        void write(List<Player> players) throws SQLException;
+    }
+
+    private static final class Pending {
+        final Player player;
+        final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        Pending(Player player) {
+            this.player = player;
+        }
+    }
+
+    private final BatchSink sink;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closing;
+
+    private long written;
+    private long batches;
+    private long failedAttempts;
+    private long rejected;
+
+    ScoreWriter(BatchSink sink) {
+        this.sink = sink;
+        this.thread = new Thread(this::run, "score-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /** Xếp điểm vào hàng đợi ghi; không bao giờ chặn luồng gọi. */
+    public CompletableFuture<Boolean> submit(Player player) {
+        Pending p = new Pending(player);
+        if (closing) {
+            p.result.complete(false);
+            return p.result;
+        }
+        queue.add(p);
+        return p.result;
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    // ========== WRITER THREAD ==========
+    private void run() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        List<Player> players = new ArrayList<>(MAX_BATCH);
+        long retryMillis = INITIAL_RETRY_MILLIS;
+        try {
+            while (true) {
+                if (batch.isEmpty()) {
+                    Pending first = closing ? queue.poll() : queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        if (closing) return;
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+
+                players.clear();
+                for (Pending p : batch) players.add(p.player);
+                Exception error;
+                try {
+                    sink.write(players);
+                    synchronized (this) {
+                        written += batch.size();
+                        batches++;
+                    }
+                    for (Pending p : batch) p.result.complete(true);
+                    batch.clear();
+                    retryMillis = INITIAL_RETRY_MILLIS;
+                    continue;
+                } catch (SQLException | RuntimeException e) {
+                    error = e;
+                }
+
+                if (isRowError(error)) {
+                    // một dòng hỏng làm hỏng cả batch: ghi lại từng dòng, bỏ dòng hỏng
+                    if (batch.size() == 1) {
+                        reject(batch.remove(0), error);
+                        error = null;
+                    } else {
+                        error = writeEach(batch);
+                    }
+                    if (error == null) {
+                        retryMillis = INITIAL_RETRY_MILLIS;
+                        continue;
+                    }
+                }
+
+                synchronized (this) {
+                    failedAttempts++;
+                }
+                System.err.println("Error saving " + batch.size() + " score(s), retry in " + retryMillis + " ms: "
+                        + error.getMessage());
+                // báo cho giao diện biết lần ghi đầu lỗi; điểm vẫn nằm trong batch để thử lại
+                for (Pending p : batch) p.result.complete(false);
+                if (closing) {
+                    System.err.println("ScoreWriter: " + (batch.size() + queue.size()) + " score(s) not written before exit");
+                    return;
+                }
+                Thread.sleep(retryMillis);
+                retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ghi từng dòng theo thứ tự; trả về lỗi tạm thời đầu tiên (batch giữ các dòng chưa ghi), null nếu xong hết
+    private Exception writeEach(List<Pending> batch) {
+        Iterator<Pending> it = batch.iterator();
+        while (it.hasNext()) {
+            Pending p = it.next();
+            try {
+                sink.write(List.of(p.player));
+                synchronized (this) {
+                    written++;
+                    batches++;
+                }
+                p.result.complete(true);
+                it.remove();
+            } catch (SQLException | RuntimeException e) {
+                if (!isRowError(e)) return e; // database lại lỗi: thử lại từ dòng này sau backoff
+                it.remove();
+                reject(p, e);
+            }
+        }
+        return null;
+    }
+
+    private void reject(Pending p, Exception e) {
+        synchronized (this) {
+            rejected++;
+        }
+        System.err.println("Dropping score of '" + p.player.getPlayerName() + "' (" + p.player.getScore() + "): "
+                + e.getMessage());
+        p.result.completeExceptionally(e);
+    }
+
+    /**
+     * Lỗi của chính dòng dữ liệu, thử lại bao nhiêu lần cũng vậy: dữ liệu quá dài / sai kiểu, vi phạm
+     * ràng buộc (SQLState 22 / 23), hoặc lỗi lập trình khi ghi (RuntimeException).
+     * Lỗi tạm thời (SQLTransientException, SQLRecoverableException: mất kết nối, hết chỗ trong pool,
+     * deadlock...) và lỗi không rõ (sai mật khẩu, server tắt...) không phải lỗi dòng: cả batch được thử lại.
+     */
+    static boolean isRowError(Throwable e) {
+        if (e instanceof RuntimeException) return true;
+        for (Throwable t = e; t != null; t = next(t)) {
+            if (t instanceof SQLTransientException || t instanceof SQLRecoverableException) return false;
+            if (t instanceof SQLDataException || t instanceof SQLIntegrityConstraintViolationException
+                    || t instanceof DataTruncation) return true;
+            if (t instanceof SQLException) {
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) return true;
+            }
+        }
+        return false;
+    }
+
+    // BatchUpdateException của driver giữ lỗi thật trong getCause() hoặc getNextException()
+    private static Throwable next(Throwable t) {
+        if (t.getCause() != null && t.getCause() != t) return t.getCause();
+        return t instanceof SQLException ? ((SQLException) t).getNextException() : null;
+    }
+
+    /** Ngừng nhận điểm mới và chờ ghi nốt hàng đợi (tối đa timeoutMillis). */
+    public void close(long timeoutMillis) {
+        closing = true;
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            System.err.println("ScoreWriter: timed out, " + queue.size() + " queued score(s) not written before exit");
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ScoreWriter{written=" + written + ", batches=" + batches + ", failedAttempts=" + failedAttempts
+                + ", rejected=" + rejected + ", pending=" + queue.size() + "}";
+    }
+}
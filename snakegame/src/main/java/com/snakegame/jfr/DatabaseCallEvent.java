@@ -0,0 +1,30 @@
+package com.snakegame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Một lần DatabaseManager gọi xuống ScoreRepository; cache hit của bảng xếp hạng không có event. */
+@Name("snakegame.DatabaseCall")
+@Label("Database Call")
+@Category({"Snake Game", "Database"})
+@Description("Một lần đọc/ghi điểm qua ScoreRepository")
+public class DatabaseCallEvent extends jdk.jfr.Event {
+    @Label("Kind")
+    @Description("INSERT, SELECT_TOP, SELECT_PAGE hoặc SELECT_HIGH_SCORE")
+    public String kind;
+
+    @Label("Difficulty")
+    @Description("Độ khó hoặc ALL")
+    public String difficulty;
+
+    @Label("Backend")
+    public String backend;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Success")
+    public boolean success;
+}
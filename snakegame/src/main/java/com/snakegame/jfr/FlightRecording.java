@@ -0,0 +1,54 @@
+package com.snakegame.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bật bản ghi JFR từ trong game: -Dsnakegame.jfr=recording.jfr.
+ *
+ * Dùng cấu hình "default" của JDK (GC, luồng, I/O...) cộng với SETTINGS (các event snakegame.*),
+ * nên một file ghi đủ để đối chiếu chỗ giật với GC và với lần gọi database.
+ * File được ghi khi thoát game.
+ */
+public final class FlightRecording {
+    public static final String SETTINGS = "/jfr/snakegame.jfc";
+
+    private FlightRecording() {
+    }
+
+    public static void startIfRequested() {
+        String file = System.getProperty("snakegame.jfr");
+        if (file == null || file.isBlank()) return;
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(loadSettings().getSettings());
+            Recording recording = new Recording(settings);
+            recording.setName("snakegame");
+            recording.setDestination(Path.of(file));
+            recording.setToDisk(true);
+            recording.setDumpOnExit(true);
+            recording.start();
+            System.out.println("JFR: ghi vào " + Path.of(file).toAbsolutePath() + " khi thoát");
+        } catch (IOException | ParseException | RuntimeException e) {
+            System.err.println("JFR: không bật được bản ghi: " + e);
+        }
+    }
+
+    private static Configuration loadSettings() throws IOException, ParseException {
+        InputStream in = FlightRecording.class.getResourceAsStream(SETTINGS);
+        if (in == null) throw new IOException("không tìm thấy " + SETTINGS);
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.snakegame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Một lần GameBoard.update(); thời lượng event = thời gian của tick. */
+@Name("snakegame.GameTick")
+@Label("Game Tick")
+@Category({"Snake Game", "Game"})
+@Description("Một bước mô phỏng của GameBoard")
+public class GameTickEvent extends jdk.jfr.Event {
+    @Label("Tick")
+    public long tick;
+
+    @Label("P1 Length")
+    public int snakeLength;
+
+    @Label("P2 Length")
+    @Description("0 khi chơi một người")
+    public int snakeLength2;
+
+    @Label("Food Eaten")
+    public boolean foodEaten;
+
+    @Label("Collision")
+    @Description("NONE, BOUNDS, P1_BLOCKED, P2_BLOCKED, HEAD_ON hoặc BOARD_FULL")
+    public String collision;
+}
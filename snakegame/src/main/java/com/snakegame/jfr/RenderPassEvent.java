@@ -0,0 +1,26 @@
+package com.snakegame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Một lượt drawGame() có vẽ (khung hình không có tick mới thì không có event). */
+@Name("snakegame.RenderPass")
+@Label("Render Pass")
+@Category({"Snake Game", "Render"})
+@Description("Một lượt vẽ bàn chơi lên canvas")
+public class RenderPassEvent extends jdk.jfr.Event {
+    @Label("Draw Calls")
+    @Description("Số lần vẽ ô nền, sprite hoặc ảnh lớp tĩnh")
+    public int drawCalls;
+
+    @Label("Dirty Cells")
+    public int dirtyCells;
+
+    @Label("Full Redraw")
+    public boolean fullRedraw;
+
+    @Label("Static Layer Rebuilt")
+    public boolean staticLayerRebuilt;
+}
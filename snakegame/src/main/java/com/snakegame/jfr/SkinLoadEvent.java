@@ -0,0 +1,20 @@
+package com.snakegame.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Giải mã ảnh của một skin trên luồng "skin-loader". */
+@Name("snakegame.SkinLoad")
+@Label("Skin Load")
+@Category({"Snake Game", "Render"})
+public class SkinLoadEvent extends jdk.jfr.Event {
+    @Label("Skin")
+    public String skin;
+
+    @Label("Images")
+    public int images;
+
+    @Label("Missing Images")
+    public int missing;
+}
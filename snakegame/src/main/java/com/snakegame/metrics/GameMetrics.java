@@ -0,0 +1,158 @@
+package com.snakegame.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Số đo của một ván, ghi trên luồng JavaFX:
+ * - tick: thời gian GameBoard.update()
+ * - render: thời gian vẽ một khung hình (drawGame + lớp nội suy)
+ * - frame: khoảng cách giữa hai khung hình (pulse JavaFX), cho biết pulse có bị trễ không
+ * - jitter: |khoảng cách giữa hai tick - bước của độ khó|; tick chạy bù trong cùng khung hình có jitter ~ một bước
+ * - length: độ dài mỗi con rắn sau mỗi tick
+ * - alloc: số byte luồng JavaFX cấp phát giữa hai khung hình (JVM không hỗ trợ → bỏ qua)
+ *
+ * Các hàm ghi không cấp phát; chỉ overlayText()/report() tạo chuỗi, gọi thưa (overlay ~4 lần/giây, hết ván).
+ */
+public class GameMetrics {
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Histogram tickNanos = new Histogram();
+    private final Histogram renderNanos = new Histogram();
+    private final Histogram frameNanos = new Histogram();
+    private final Histogram jitterNanos = new Histogram();
+    private final Histogram snakeLength = new Histogram();
+    private final Histogram allocBytes = new Histogram();
+
+    private final com.sun.management.ThreadMXBean allocMx = allocationBean();
+    private long stepNanos;
+    private long startNanos;
+    private long lastTickStart = -1;
+    private long lastFrameStart = -1;
+    private long lastAllocated = -1;
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        if (mx instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) mx;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) return bean;
+        }
+        return null;
+    }
+
+    /** Bắt đầu ván mới; stepMillis = Difficulty.getSpeed(). */
+    public void reset(long stepMillis) {
+        stepNanos = stepMillis * 1_000_000L;
+        startNanos = System.nanoTime();
+        skipGap();
+        tickNanos.reset();
+        renderNanos.reset();
+        frameNanos.reset();
+        jitterNanos.reset();
+        snakeLength.reset();
+        allocBytes.reset();
+    }
+
+    /** Sau khi tạm dừng: khoảng cách tới tick / khung hình kế tiếp không phải là độ trễ. */
+    public void skipGap() {
+        lastTickStart = -1;
+        lastFrameStart = -1;
+        lastAllocated = -1;
+    }
+
+    // ========== RECORD ==========
+    /** Gọi đầu tick; trả về mốc để truyền cho endTick(). */
+    public long startTick() {
+        long now = System.nanoTime();
+        if (lastTickStart >= 0) jitterNanos.record(Math.abs(now - lastTickStart - stepNanos));
+        lastTickStart = now;
+        return now;
+    }
+
+    public void endTick(long start) {
+        tickNanos.record(System.nanoTime() - start);
+    }
+
+    public void recordLength(int length) {
+        snakeLength.record(length);
+    }
+
+    /** Gọi đầu mỗi khung hình; trả về mốc để truyền cho endFrame(). */
+    public long startFrame() {
+        long now = System.nanoTime();
+        if (lastFrameStart >= 0) frameNanos.record(now - lastFrameStart);
+        lastFrameStart = now;
+        if (allocMx != null) {
+            long allocated = allocMx.getCurrentThreadAllocatedBytes();
+            if (lastAllocated >= 0) allocBytes.record(allocated - lastAllocated);
+            lastAllocated = allocated;
+        }
+        return now;
+    }
+
+    public void endFrame(long start) {
+        renderNanos.record(System.nanoTime() - start);
+    }
+
+    // ========== REPORT ==========
+    public String overlayText() {
+        StringBuilder sb = new StringBuilder(256);
+        appendMillis(sb, "tick", tickNanos);
+        appendMillis(sb, "render", renderNanos);
+        appendMillis(sb, "frame", frameNanos);
+        appendMillis(sb, "jitter", jitterNanos);
+        sb.append(String.format("%-7s p50 %6d    p99 %6d%n", "length", snakeLength.percentile(50), snakeLength.percentile(99)));
+        if (allocMx != null) {
+            sb.append(String.format("%-7s p50 %6.1f KB p99 %6.1f KB  %.1f MB/s", "alloc",
+                    allocBytes.percentile(50) / 1024.0, allocBytes.percentile(99) / 1024.0, allocMegabytesPerSecond()));
+        } else {
+            sb.append("alloc   không hỗ trợ");
+        }
+        return sb.toString();
+    }
+
+    private static void appendMillis(StringBuilder sb, String name, Histogram h) {
+        sb.append(String.format("%-7s p50 %6.2f ms p99 %6.2f ms%n", name, h.percentile(50) / 1e6, h.percentile(99) / 1e6));
+    }
+
+    private double allocMegabytesPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed <= 0 ? 0 : allocBytes.getSum() / 1048576.0 / (elapsed / 1e9);
+    }
+
+    /** Bảng đầy đủ: số mẫu, p50/p90/p99/p99.9, max của từng histogram. */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-7s %8s %10s %10s %10s %10s %10s%n", "", "count", "p50", "p90", "p99", "p99.9", "max"));
+        appendRow(sb, "tick", tickNanos, 1e6, "ms");
+        appendRow(sb, "render", renderNanos, 1e6, "ms");
+        appendRow(sb, "frame", frameNanos, 1e6, "ms");
+        appendRow(sb, "jitter", jitterNanos, 1e6, "ms");
+        appendRow(sb, "length", snakeLength, 1, "");
+        if (allocMx != null) {
+            appendRow(sb, "alloc", allocBytes, 1024, "KB");
+            sb.append(String.format("alloc rate %.2f MB/s%n", allocMegabytesPerSecond()));
+        }
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String name, Histogram h, double scale, String unit) {
+        sb.append(String.format("%-7s %8d", name, h.getCount()));
+        for (double p : new double[]{50, 90, 99, 99.9}) sb.append(String.format(" %10.2f", h.percentile(p) / scale));
+        sb.append(String.format(" %10.2f %s%n", h.getMax() / scale, unit));
+    }
+
+    /** Ghi report() vào dir/game-yyyyMMdd-HHmmss.txt; trả về file đã ghi. */
+    public Path dump(Path dir, String title) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("game-" + LocalDateTime.now().format(FILE_TIME) + ".txt");
+        Files.writeString(file, title + System.lineSeparator() + report(), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,81 @@
+package com.snakegame.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Histogram log-tuyến tính kiểu HDR cho giá trị long >= 0 (ns, byte, độ dài...).
+ *
+ * - 0..63 đếm chính xác; từ 64 trở lên mỗi khoảng [2^k, 2^(k+1)) chia thành SUB_BUCKETS ô đều nhau,
+ *   nên sai số tương đối của percentile không quá 1/SUB_BUCKETS (~3%).
+ * - Giá trị lớn hơn MAX_VALUE được ghi như MAX_VALUE; số âm ghi như 0.
+ * - record() chỉ tăng một phần tử mảng đã cấp sẵn: không cấp phát, không khóa. Chỉ dùng trên một luồng.
+ */
+public class Histogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;       // 32 ô mỗi lũy thừa 2
+    private static final int LINEAR_LIMIT = SUB_BUCKETS << 1;  // 0..63 mỗi giá trị một ô
+    private static final int MAX_BITS = 43;
+    public static final long MAX_VALUE = (1L << MAX_BITS) - 1; // ~2.4 giờ tính bằng ns
+
+    private final long[] counts = new long[index(MAX_VALUE) + 1];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        else if (value > MAX_VALUE) value = MAX_VALUE;
+        counts[index(value)]++;
+        count++;
+        sum += value;
+        if (value < min) min = value;
+        if (value > max) max = value;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    // ========== BUCKETS ==========
+    private static int index(long value) {
+        if (value < LINEAR_LIMIT) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // >= 1
+        int sub = (int) (value >>> shift);                              // SUB_BUCKETS..2*SUB_BUCKETS-1
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (sub - SUB_BUCKETS);
+    }
+
+    // giá trị giữa của ô
+    private static long midValue(int index) {
+        if (index < LINEAR_LIMIT) return index;
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long sub = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return (sub << shift) + (1L << (shift - 1));
+    }
+
+    // ========== READ ==========
+    /** Percentile (0..100), 0 nếu chưa có giá trị nào. Luôn nằm trong [min, max]. */
+    public long percentile(double p) {
+        if (count == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(p / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) return Math.max(min, Math.min(max, midValue(i)));
+        }
+        return max;
+    }
+
+    public long getCount() { return count; }
+    public long getSum() { return sum; }
+    public long getMin() { return count == 0 ? 0 : min; }
+    public long getMax() { return max; }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+}
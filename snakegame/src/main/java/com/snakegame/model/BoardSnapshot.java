@@ -0,0 +1,85 @@
+package com.snakegame.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bản chụp tách rời của bàn chơi tại một tick; không đổi khi GameBoard chạy tiếp.
+ * Tạo bằng GameBoard.snapshot() - chỉ lúc đó mới sao chép.
+ */
+public final class BoardSnapshot implements BoardView {
+    private final long version;
+    private final long layoutVersion;
+    private final long tick;
+    private final int boardWidth;
+    private final int boardHeight;
+    private final boolean twoPlayer;
+    private final boolean gameOver;
+    private final boolean boardFull;
+    private final SnakeBody snake;
+    private final SnakeBody snake2;
+    private final GameBoard.Direction direction;
+    private final GameBoard.Direction direction2;
+    private final GameBoard.Point food;
+    private final GameBoard.Point food2;
+    private final List<GameBoard.Point> wall;
+    private final List<GameBoard.Point> obstacles;
+    private final byte[] grid;
+    private final int score;
+    private final int score2;
+
+    BoardSnapshot(GameBoard board) {
+        this.version = board.getVersion();
+        this.layoutVersion = board.getLayoutVersion();
+        this.tick = board.getTick();
+        this.boardWidth = board.getBoardWidth();
+        this.boardHeight = board.getBoardHeight();
+        this.twoPlayer = board.isTwoPlayer();
+        this.gameOver = board.isGameOver();
+        this.boardFull = board.isBoardFull();
+        this.snake = board.getSnakeBody().copy();
+        this.snake2 = board.getSnakeBody2() != null ? board.getSnakeBody2().copy() : null;
+        this.direction = board.getDirection();
+        this.direction2 = board.getDirection2();
+        this.food = copyOf(board.getFood());
+        this.food2 = copyOf(board.getFood2());
+        // danh sách của bàn không sửa được nhưng Point bên trong vẫn là đối tượng sống (có setX/setY) → sao chép
+        this.wall = copyOf(board.getWall());
+        this.obstacles = copyOf(board.getObstacles());
+        this.grid = board.copyGrid();
+        this.score = board.getScore();
+        this.score2 = board.getScore2();
+    }
+
+    private static GameBoard.Point copyOf(GameBoard.Point p) {
+        return p == null ? null : new GameBoard.Point(p.getX(), p.getY());
+    }
+
+    private static List<GameBoard.Point> copyOf(List<GameBoard.Point> points) {
+        if (points == null) return null;
+        List<GameBoard.Point> copy = new ArrayList<>(points.size());
+        for (GameBoard.Point p : points) copy.add(copyOf(p));
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Override public long getVersion() { return version; }
+    @Override public long getLayoutVersion() { return layoutVersion; }
+    @Override public long getTick() { return tick; }
+    @Override public int getBoardWidth() { return boardWidth; }
+    @Override public int getBoardHeight() { return boardHeight; }
+    @Override public boolean isTwoPlayer() { return twoPlayer; }
+    @Override public boolean isGameOver() { return gameOver; }
+    @Override public boolean isBoardFull() { return boardFull; }
+    @Override public SnakeBody getSnakeBody() { return snake; }
+    @Override public SnakeBody getSnakeBody2() { return snake2; }
+    @Override public GameBoard.Direction getDirection() { return direction; }
+    @Override public GameBoard.Direction getDirection2() { return direction2; }
+    @Override public GameBoard.Point getFood() { return food; }
+    @Override public GameBoard.Point getFood2() { return food2; }
+    @Override public List<GameBoard.Point> getWall() { return wall; }
+    @Override public List<GameBoard.Point> getObstacles() { return obstacles; }
+    @Override public Cell getCell(int x, int y) { return GameBoard.CELL_KINDS[grid[y * boardWidth + x]]; }
+    @Override public int getScore() { return score; }
+    @Override public int getScore2() { return score2; }
+}
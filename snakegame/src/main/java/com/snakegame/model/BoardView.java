@@ -0,0 +1,39 @@
+package com.snakegame.model;
+
+import java.util.List;
+
+/**
+ * Góc nhìn chỉ-đọc lên trạng thái bàn chơi, dùng cho renderer và AI.
+ * Không sao chép gì: đọc thẳng dữ liệu của GameBoard, nên chỉ hợp lệ trên luồng đang chạy game.
+ * Cần bản tách rời (để lưu lại, so sánh, gửi sang luồng khác) thì gọi GameBoard.snapshot().
+ */
+public interface BoardView {
+    /** Loại của một ô trên lưới. */
+    enum Cell { EMPTY, SNAKE, SNAKE2, WALL, OBSTACLE, FOOD }
+
+    /** Tăng mỗi khi trạng thái đổi (mỗi tick, mỗi lần reset); không bao giờ giảm. */
+    long getVersion();
+    /** Chỉ tăng khi lớp tĩnh (tường, chướng ngại vật) đổi - renderer dựa vào đây để dùng lại ảnh đã vẽ sẵn. */
+    long getLayoutVersion();
+    /** Số tick đã chạy trong ván hiện tại. */
+    long getTick();
+
+    int getBoardWidth();
+    int getBoardHeight();
+    boolean isTwoPlayer();
+    boolean isGameOver();
+    boolean isBoardFull();
+
+    SnakeBody getSnakeBody();
+    SnakeBody getSnakeBody2();
+    GameBoard.Direction getDirection();
+    GameBoard.Direction getDirection2();
+    GameBoard.Point getFood();
+    GameBoard.Point getFood2();
+    List<GameBoard.Point> getWall();
+    List<GameBoard.Point> getObstacles();
+    /** Tra ô (x, y) trong O(1) - cho renderer chỉ duyệt các ô trong khung nhìn. */
+    Cell getCell(int x, int y);
+    int getScore();
+    int getScore2();
+}
@@ -0,0 +1,50 @@
+package com.snakegame.model;
+
+/**
+ * Các ô đã đổi kể từ lần renderer vẽ gần nhất (đầu mới, đầu cũ, đuôi cũ, đuôi mới, thức ăn).
+ * GameBoard đánh dấu, renderer đọc rồi clear() sau mỗi khung hình.
+ *
+ * Đánh dấu quá MAX_CELLS ô (reset, tạo chướng ngại vật, không ai clear như khi chạy headless)
+ * thì chuyển sang "vẽ lại toàn bộ" - chi phí đánh dấu luôn O(1), bộ nhớ không tăng.
+ */
+public class DirtyCells {
+    private static final int MAX_CELLS = 64;
+
+    private final boolean[] marked; // ô -> đã nằm trong danh sách chưa
+    private final int[] cells = new int[MAX_CELLS];
+    private int size;
+    private boolean all = true; // khung hình đầu tiên luôn vẽ toàn bộ
+
+    DirtyCells(int boardCells) {
+        this.marked = new boolean[boardCells];
+    }
+
+    // ========== WRITE (GameBoard) ==========
+    void mark(int cell) {
+        if (all || marked[cell]) return;
+        if (size == MAX_CELLS) {
+            all = true;
+            return;
+        }
+        marked[cell] = true;
+        cells[size++] = cell;
+    }
+
+    void markAll() {
+        all = true;
+    }
+
+    // ========== READ (renderer) ==========
+    /** true nếu renderer phải vẽ lại toàn bộ thay vì chỉ các ô trong danh sách. */
+    public boolean isAll() { return all; }
+    public int size() { return size; }
+    public int getCell(int i) { return cells[i]; }
+    public boolean contains(int cell) { return all || marked[cell]; }
+
+    /** Renderer gọi sau khi đã vẽ xong khung hình. */
+    public void clear() {
+        for (int i = 0; i < size; i++) marked[cells[i]] = false;
+        size = 0;
+        all = false;
+    }
+}
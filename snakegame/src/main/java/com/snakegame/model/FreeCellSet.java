@@ -0,0 +1,53 @@
+package com.snakegame.model;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Tập các ô trống, dùng mảng dày (dense) + bản đồ vị trí, xóa bằng cách đổi chỗ với phần tử cuối.
+ * Thêm, xóa, kiểm tra và lấy một ô trống ngẫu nhiên (phân bố đều) đều O(1).
+ */
+class FreeCellSet {
+    private final int[] cells;    // các ô trống, liền nhau trong [0, size)
+    private final int[] position; // ô -> vị trí trong cells, -1 nếu không trống
+    private int size;
+
+    FreeCellSet(int boardCells) {
+        this.cells = new int[boardCells];
+        this.position = new int[boardCells];
+        clear();
+    }
+
+    void clear() {
+        Arrays.fill(position, -1);
+        size = 0;
+    }
+
+    void add(int cell) {
+        if (position[cell] >= 0) return;
+        position[cell] = size;
+        cells[size++] = cell;
+    }
+
+    void remove(int cell) {
+        int pos = position[cell];
+        if (pos < 0) return;
+        int last = cells[--size];
+        cells[pos] = last;
+        position[last] = pos;
+        position[cell] = -1;
+    }
+
+    boolean contains(int cell) {
+        return position[cell] >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Một ô trống ngẫu nhiên, hoặc -1 nếu không còn ô nào. */
+    int randomCell(Random random) {
+        return size == 0 ? -1 : cells[random.nextInt(size)];
+    }
+}
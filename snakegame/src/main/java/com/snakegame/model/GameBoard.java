@@ -1,14 +1,21 @@
 package com.snakegame.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
-public class GameBoard {
+public class GameBoard implements BoardView {
     public enum Direction {
         UP, DOWN, LEFT, RIGHT
     }
 
+    // lý do hết ván; NONE khi ván còn chạy. BOUNDS: một trong hai rắn ra khỏi nửa bàn của mình (2P)
+    public enum Collision {
+        NONE, BOUNDS, P1_BLOCKED, P2_BLOCKED, HEAD_ON, BOARD_FULL
+    }
+
     public enum Difficulty {
         EASY(200), MEDIUM(150), HARD(100);
 
@@ -28,20 +35,28 @@ public class GameBoard {
     private static final int DEFAULT_BOARD_HEIGHT = 20;
     // wider board used when two-player mode is active
     private static final int TWO_PLAYER_BOARD_WIDTH = 30;
+    // chế độ đấu trường: bàn lớn, renderer dùng camera bám theo đầu rắn
+    public static final int ARENA_BOARD_SIZE = 500;
 
     // instance dimensions (so single-player remains unchanged)
     private final int boardWidth;
     private final int boardHeight;
 
-    private List<Point> snake;
-    private List<Point> snake2; // optional for 2P
+    private final SnakeBody snake;
+    private final SnakeBody snake2; // chỉ dùng cho 2P
     private Point food;
     private Point food2; // thức ăn cho P2
     private Direction direction;
-    private Direction nextDirection;
     private Direction direction2;
-    private Direction nextDirection2;
+    // phím bấm chờ tới tick, mỗi tick lấy một hướng
+    private final InputQueue input = new InputQueue();
+    private final InputQueue input2 = new InputQueue();
+    private long version; // tăng mỗi lần trạng thái đổi, kể cả reset
+    private long layoutVersion; // chỉ tăng khi tường / chướng ngại vật đổi
+    private long tick;    // số tick trong ván hiện tại
     private boolean gameOver;
+    private boolean boardFull; // không còn ô trống để đặt thức ăn → thắng
+    private Collision collision = Collision.NONE;
     private boolean twoPlayer;
     private int score;
     private int score2;
@@ -50,47 +65,105 @@ public class GameBoard {
     private List<Point> wall;
     private List<Point> obstacles; // danh sách chướng ngại vật
 
+    // lưới chiếm chỗ: mỗi ô một byte, chỉ số = y * boardWidth + x
+    // giúp kiểm tra va chạm (thân rắn, tường, chướng ngại vật) trong O(1)
+    private static final byte CELL_EMPTY = 0;
+    private static final byte CELL_SNAKE = 1;
+    private static final byte CELL_SNAKE2 = 2;
+    private static final byte CELL_WALL = 3;
+    private static final byte CELL_OBSTACLE = 4;
+    private static final byte CELL_FOOD = 5; // không chặn đường, chỉ để loại ô khỏi tập ô trống
+    // byte trên lưới → BoardView.Cell (chỉ số = hằng CELL_*)
+    static final Cell[] CELL_KINDS = {Cell.EMPTY, Cell.SNAKE, Cell.SNAKE2, Cell.WALL, Cell.OBSTACLE, Cell.FOOD};
+    private final byte[] grid;
+    // tập ô trống theo vùng: 1P một vùng; 2P vùng 0 = nửa trái (P1), vùng 1 = nửa phải (P2)
+    private final FreeCellSet[] freeCells;
+    // ô đã đổi từ khung hình trước, cho renderer vẽ tăng dần
+    private final DirtyCells dirtyCells;
 
     public GameBoard(Difficulty difficulty) {
         this(difficulty, false);
     }
 
     public GameBoard(Difficulty difficulty, boolean twoPlayer) {
+        this(difficulty, twoPlayer, new Random());
+    }
+
+    // seed cố định + cùng chuỗi input → cùng một ván (mô phỏng headless, chạy hồi quy trên CI)
+    public GameBoard(Difficulty difficulty, boolean twoPlayer, long seed) {
+        this(difficulty, twoPlayer, new Random(seed));
+    }
+
+    // kích thước tùy ý (đấu trường, benchmark)
+    public GameBoard(Difficulty difficulty, boolean twoPlayer, int boardWidth, int boardHeight) {
+        this(difficulty, twoPlayer, boardWidth, boardHeight, new Random());
+    }
+
+    public GameBoard(Difficulty difficulty, boolean twoPlayer, int boardWidth, int boardHeight, long seed) {
+        this(difficulty, twoPlayer, boardWidth, boardHeight, new Random(seed));
+    }
+
+    private GameBoard(Difficulty difficulty, boolean twoPlayer, Random random) {
+        // choose dimensions based on mode: only enlarge board for 2-player
+        this(difficulty, twoPlayer, twoPlayer ? TWO_PLAYER_BOARD_WIDTH : DEFAULT_BOARD_WIDTH,
+                DEFAULT_BOARD_HEIGHT, random);
+    }
+
+    private GameBoard(Difficulty difficulty, boolean twoPlayer, int boardWidth, int boardHeight, Random random) {
+        if (boardWidth < 2 || boardHeight < 1) {
+            throw new IllegalArgumentException("Kích thước bàn không hợp lệ: " + boardWidth + "x" + boardHeight);
+        }
         this.difficulty = difficulty;
         this.twoPlayer = twoPlayer;
-        this.random = new Random();
-        // choose dimensions based on mode: only enlarge board for 2-player
-        this.boardWidth = twoPlayer ? TWO_PLAYER_BOARD_WIDTH : DEFAULT_BOARD_WIDTH;
-        this.boardHeight = DEFAULT_BOARD_HEIGHT;
+        this.random = random;
+        this.boardWidth = boardWidth;
+        this.boardHeight = boardHeight;
+        this.grid = new byte[boardWidth * boardHeight];
+        this.freeCells = twoPlayer
+                ? new FreeCellSet[]{new FreeCellSet(grid.length), new FreeCellSet(grid.length)}
+                : new FreeCellSet[]{new FreeCellSet(grid.length)};
+        this.dirtyCells = new DirtyCells(grid.length);
+        this.snake = new SnakeBody(boardWidth);
+        this.snake2 = twoPlayer ? new SnakeBody(boardWidth) : null;
         initializeGame();
     }
 
     private void initializeGame() {
+        version++;
+        input.clear();
+        input2.clear();
+        layoutVersion++;
+        dirtyCells.markAll();
+        tick = 0;
         gameOver = false;
+        boardFull = false;
+        collision = Collision.NONE;
         score = 0;
         score2 = 0;
-
+        Arrays.fill(grid, CELL_EMPTY);
+        for (FreeCellSet region : freeCells) region.clear();
+        for (int cell = 0; cell < grid.length; cell++) freeCells[regionOf(cell)].add(cell);
+        wall = null;
+        obstacles = null;
+        food = null;
+        food2 = null;
+
+        snake.clear();
         if (twoPlayer) {
             // P1 bên trái
-            snake = new ArrayList<>();
-            snake.add(new Point(boardWidth / 4, boardHeight / 2));
+            pushHead(snake, cellIndex(boardWidth / 4, boardHeight / 2), CELL_SNAKE);
             direction = Direction.RIGHT;
-            nextDirection = Direction.RIGHT;
 
             // P2 bên phải
-            snake2 = new ArrayList<>();
-            snake2.add(new Point(3 * boardWidth / 4, boardHeight / 2));
+            snake2.clear();
+            pushHead(snake2, cellIndex(3 * boardWidth / 4, boardHeight / 2), CELL_SNAKE2);
             direction2 = Direction.LEFT;
-            nextDirection2 = Direction.LEFT;
 
             createWall();
         } else {
             // 1P → giữa màn hình, wrap-around
-            snake = new ArrayList<>();
-            snake.add(new Point(boardWidth / 2, boardHeight / 2));
+            pushHead(snake, cellIndex(boardWidth / 2, boardHeight / 2), CELL_SNAKE);
             direction = Direction.RIGHT;
-            nextDirection = Direction.RIGHT;
-            snake2 = null;
             generateObstacles(); // tạo chướng ngại vật ngẫu nhiên
 
         }
@@ -99,7 +172,10 @@ public class GameBoard {
         if (twoPlayer) generateFood2();
     }
 
-    private void generateObstacles() {
+    // package-private cho benchmark; gọi lại sẽ thay toàn bộ chướng ngại vật cũ
+    void generateObstacles() {
+        clearObstacles();
+        layoutVersion++;
         obstacles = new ArrayList<>();
 
         int count;
@@ -109,14 +185,40 @@ public class GameBoard {
             case HARD -> count = 40;
             default -> count = 20;
         }
+        // số lượng trên là cho bàn 20x20; bàn lớn hơn giữ nguyên mật độ
+        count = (int) ((long) count * boardWidth * boardHeight / (DEFAULT_BOARD_WIDTH * DEFAULT_BOARD_HEIGHT));
 
+        // chừa lại ít nhất một ô trống cho thức ăn
+        count = Math.min(count, freeCells[0].size() - 1);
         for (int i = 0; i < count; i++) {
-            Point p;
-            do {
-                p = new Point(random.nextInt(boardWidth), random.nextInt(boardHeight));
-            } while (snake.contains(p) || p.equals(food)); // tránh trùng rắn và thức ăn
-            obstacles.add(p);
+            int cell = freeCells[0].randomCell(random); // ô trống: không trùng rắn (thức ăn được tạo sau)
+            obstacles.add(new Point(cell % boardWidth, cell / boardWidth));
+            setCell(cell, CELL_OBSTACLE);
         }
+        obstacles = Collections.unmodifiableList(obstacles);
+    }
+
+    private void clearObstacles() {
+        if (obstacles == null) return;
+        layoutVersion++;
+        for (Point p : obstacles) setCell(cellIndex(p.getX(), p.getY()), CELL_EMPTY);
+        obstacles = Collections.emptyList();
+    }
+
+    // Chỉ dùng cho benchmark (1P): đặt lại rắn P1 theo danh sách ô (đầu trước) và bỏ chướng ngại vật
+    void layoutSnake(int[] cellsHeadFirst, Direction heading) {
+        while (!snake.isEmpty()) setCell(snake.popTail(), CELL_EMPTY);
+        clearObstacles();
+        for (int i = cellsHeadFirst.length - 1; i >= 0; i--) {
+            pushHead(snake, cellsHeadFirst[i], CELL_SNAKE);
+        }
+        direction = heading;
+        input.clear();
+        gameOver = false;
+        boardFull = false;
+        collision = Collision.NONE;
+        version++;
+        generateFood();
     }
 
 
@@ -124,108 +226,96 @@ public class GameBoard {
         initializeGame();
     }
 
+    @Override
     public List<Point> getObstacles() {
         return obstacles;
     }
 
 
     public void setDirection(Direction newDirection) {
-        if ((direction == Direction.UP && newDirection != Direction.DOWN) ||
-                (direction == Direction.DOWN && newDirection != Direction.UP) ||
-                (direction == Direction.LEFT && newDirection != Direction.RIGHT) ||
-                (direction == Direction.RIGHT && newDirection != Direction.LEFT)) {
-            nextDirection = newDirection;
-        }
+        setDirection(newDirection, System.nanoTime());
+    }
+
+    // timestampNanos: lúc bấm phím (System.nanoTime()), để đo độ trễ phím → tick
+    public void setDirection(Direction newDirection, long timestampNanos) {
+        input.offer(newDirection, direction, timestampNanos);
     }
 
     public void setDirectionP2(Direction newDirection) {
+        setDirectionP2(newDirection, System.nanoTime());
+    }
+
+    public void setDirectionP2(Direction newDirection, long timestampNanos) {
         if (!twoPlayer) return;
-        if ((direction2 == Direction.UP && newDirection != Direction.DOWN) ||
-                (direction2 == Direction.DOWN && newDirection != Direction.UP) ||
-                (direction2 == Direction.LEFT && newDirection != Direction.RIGHT) ||
-                (direction2 == Direction.RIGHT && newDirection != Direction.LEFT)) {
-            nextDirection2 = newDirection;
-        }
+        input2.offer(newDirection, direction2, timestampNanos);
     }
 
+    public InputQueue getInputQueue() { return input; }
+    public InputQueue getInputQueue2() { return twoPlayer ? input2 : null; }
+
     public void update() {
         if (gameOver) return;
+        version++;
+        tick++;
+
+        long now = System.nanoTime();
 
         // --- Update P1 ---
-        direction = nextDirection;
-        Point head = snake.get(0);
-        Point newHead = new Point(head.getX(), head.getY());
-
-        switch (direction) {
-            case UP -> newHead.setY(newHead.getY() - 1);
-            case DOWN -> newHead.setY(newHead.getY() + 1);
-            case LEFT -> newHead.setX(newHead.getX() - 1);
-            case RIGHT -> newHead.setX(newHead.getX() + 1);
-        }
+        Direction queued = input.poll(now);
+        if (queued != null) direction = queued;
+        int headX = snake.getX(0) + dx(direction);
+        int headY = snake.getY(0) + dy(direction);
 
         if (!twoPlayer) {
             // 1P wrap-around
-            newHead.setX((newHead.getX() % boardWidth + boardWidth) % boardWidth);
-            newHead.setY((newHead.getY() % boardHeight + boardHeight) % boardHeight);
+            headX = (headX % boardWidth + boardWidth) % boardWidth;
+            headY = (headY % boardHeight + boardHeight) % boardHeight;
         }
 
         // --- Update P2 ---
-        Point newHead2 = null;
+        int head2X = 0, head2Y = 0;
         if (twoPlayer) {
-            direction2 = nextDirection2;
-            Point head2 = snake2.get(0);
-            newHead2 = new Point(head2.getX(), head2.getY());
-
-            switch (direction2) {
-                case UP -> newHead2.setY(newHead2.getY() - 1);
-                case DOWN -> newHead2.setY(newHead2.getY() + 1);
-                case LEFT -> newHead2.setX(newHead2.getX() - 1);
-                case RIGHT -> newHead2.setX(newHead2.getX() + 1);
-            }
+            Direction queued2 = input2.poll(now);
+            if (queued2 != null) direction2 = queued2;
+            head2X = snake2.getX(0) + dx(direction2);
+            head2Y = snake2.getY(0) + dy(direction2);
 
             // Giới hạn bàn cho 2P: P1 [0, boardWidth/2), P2 [boardWidth/2, boardWidth)
-            if (newHead.getX() < 0 || newHead.getX() >= boardWidth / 2 ||
-                    newHead.getY() < 0 || newHead.getY() >= boardHeight ||
-                    newHead2.getX() < boardWidth / 2 || newHead2.getX() >= boardWidth ||
-                    newHead2.getY() < 0 || newHead2.getY() >= boardHeight) {
-                gameOver = true;
+            if (headX < 0 || headX >= boardWidth / 2 ||
+                    headY < 0 || headY >= boardHeight ||
+                    head2X < boardWidth / 2 || head2X >= boardWidth ||
+                    head2Y < 0 || head2Y >= boardHeight) {
+                endGame(Collision.BOUNDS);
                 return;
             }
         }
+        int newHead = cellIndex(headX, headY);
+        int newHead2 = twoPlayer ? cellIndex(head2X, head2Y) : -1;
 
         // --- Determine eating ---
-        boolean willEat = newHead.equals(food);
-        boolean willEat2 = twoPlayer && newHead2.equals(food2);
+        boolean willEat = food != null && headX == food.getX() && headY == food.getY();
+        boolean willEat2 = twoPlayer && food2 != null && head2X == food2.getX() && head2Y == food2.getY();
 
         // --- Remove tail if not eating ---
-        if (!willEat && !snake.isEmpty()) snake.remove(snake.size() - 1);
-        if (twoPlayer && !willEat2 && !snake2.isEmpty()) snake2.remove(snake2.size() - 1);
+        if (!willEat && !snake.isEmpty()) setCell(snake.popTail(), CELL_EMPTY);
+        if (twoPlayer && !willEat2 && !snake2.isEmpty()) setCell(snake2.popTail(), CELL_EMPTY);
+        // đuôi mới đổi sprite dù lưới không đổi (đánh dấu trước khi có thể thua ở dưới)
+        markTail(snake);
+        if (twoPlayer) markTail(snake2);
 
-        // --- Self collision ---
-        if (snake.contains(newHead) || (twoPlayer && snake2.contains(newHead))) { gameOver = true; return; }
-        if (twoPlayer && snake2.contains(newHead2)) { gameOver = true; return; }
-
-        // --- Obstacle collision ---
-        if (!twoPlayer && obstacles != null && obstacles.contains(newHead)) {
-            gameOver = true;
-            return;
-        }
+        // --- Collision: thân rắn (cả 2 con), chướng ngại vật, tường ---
+        if (isBlocked(newHead)) { endGame(Collision.P1_BLOCKED); return; }
+        if (twoPlayer && isBlocked(newHead2)) { endGame(Collision.P2_BLOCKED); return; }
 
-
-        // --- Wall collision ---
-        if (twoPlayer && wall != null) {
-            if (wall.contains(newHead) || wall.contains(newHead2)) { gameOver = true; return; }
-        }
-
-        // --- Cross collision & head-to-head ---
-        if (twoPlayer) {
-            if (snake.contains(newHead2) || snake2.contains(newHead)) { gameOver = true; return; }
-            if (newHead.equals(newHead2)) { gameOver = true; return; }
-        }
+        // --- Head-to-head ---
+        if (twoPlayer && newHead == newHead2) { endGame(Collision.HEAD_ON); return; }
 
         // --- Add new heads ---
-        snake.add(0, newHead);
-        if (twoPlayer) snake2.add(0, newHead2);
+        pushHead(snake, newHead, CELL_SNAKE);
+        if (twoPlayer) pushHead(snake2, newHead2, CELL_SNAKE2);
+        // đầu cũ giờ là thân → đổi sprite
+        markNeck(snake);
+        if (twoPlayer) markNeck(snake2);
 
         // --- Eating food ---
         if (willEat) {
@@ -238,46 +328,108 @@ public class GameBoard {
         }
     }
 
-    private void generateFood() {
-        do {
-            // Nếu 2 người, thức ăn cho P1 chỉ nằm nửa trái; nếu 1 người thì toàn bản đồ
-            int xRange = twoPlayer ? boardWidth / 2 : boardWidth;
-            int xOffset = twoPlayer ? 0 : 0;
+    private void endGame(Collision cause) {
+        gameOver = true;
+        collision = cause;
+    }
+
+    private void markTail(SnakeBody body) {
+        if (!body.isEmpty()) dirtyCells.mark(body.getTailCell());
+    }
 
-            food = new Point(random.nextInt(xRange) + xOffset, random.nextInt(boardHeight));
-        } while (
-                snake.contains(food)
-                        || (twoPlayer && snake2 != null && snake2.contains(food))
-                        || (twoPlayer && wall != null && wall.contains(food))
-                        || (!twoPlayer && obstacles != null && obstacles.contains(food)) // ✅ tránh chướng ngại vật
-                        || food.equals(snake.get(0))
-        );
+    private void markNeck(SnakeBody body) {
+        if (body.size() > 1) dirtyCells.mark(body.getCell(1));
     }
 
+    private static int dx(Direction d) {
+        return d == Direction.LEFT ? -1 : d == Direction.RIGHT ? 1 : 0;
+    }
+
+    private static int dy(Direction d) {
+        return d == Direction.UP ? -1 : d == Direction.DOWN ? 1 : 0;
+    }
+
+    // Nếu 2 người, thức ăn cho P1 chỉ nằm nửa trái; nếu 1 người thì toàn bản đồ
+    // package-private cho benchmark
+    void generateFood() {
+        food = placeFood(freeCells[0], food);
+    }
 
     private void generateFood2() {
-        do {
-            food2 = new Point(random.nextInt(boardWidth / 2) + boardWidth / 2, random.nextInt(boardHeight));
-        } while (snake.contains(food2) ||
-                (twoPlayer && snake2 != null && snake2.contains(food2)) ||
-                (twoPlayer && wall != null && wall.contains(food2)) ||
-                food2.equals(food) ||
-                food2.equals(snake2.get(0)));
-    }
-
-    public List<Point> getSnake() { return new ArrayList<>(snake); }
-    public List<Point> getSnake2() { return twoPlayer ? new ArrayList<>(snake2) : null; }
-    public Point getFood() { return food; }
-    public Point getFood2() { return food2; }
-    public boolean isGameOver() { return gameOver; }
-    public int getScore() { return score; }
-    public int getScore2() { return score2; }
-    public boolean isTwoPlayer() { return twoPlayer; }
+        food2 = placeFood(freeCells[1], food2);
+    }
+
+    // Lấy một ô trống ngẫu nhiên trong O(1); hết ô trống thì kết thúc ván (thắng) thay vì lặp mãi
+    private Point placeFood(FreeCellSet region, Point previous) {
+        // thức ăn cũ chưa bị ăn (rắn chưa đè lên) thì trả ô lại cho tập ô trống
+        if (previous != null) {
+            int old = cellIndex(previous.getX(), previous.getY());
+            if (grid[old] == CELL_FOOD) setCell(old, CELL_EMPTY);
+        }
+        int cell = region.randomCell(random);
+        if (cell < 0) {
+            boardFull = true;
+            endGame(Collision.BOARD_FULL);
+            return null;
+        }
+        setCell(cell, CELL_FOOD);
+        return new Point(cell % boardWidth, cell / boardWidth);
+    }
+
+    // ========== OCCUPANCY GRID ==========
+    private int cellIndex(int x, int y) {
+        return y * boardWidth + x;
+    }
+
+    private boolean isBlocked(int cell) {
+        return grid[cell] != CELL_EMPTY && grid[cell] != CELL_FOOD;
+    }
+
+    private int regionOf(int cell) {
+        return twoPlayer && cell % boardWidth >= boardWidth / 2 ? 1 : 0;
+    }
+
+    // mọi thay đổi trên lưới đi qua đây để tập ô trống luôn khớp với lưới
+    private void setCell(int cell, byte cellType) {
+        grid[cell] = cellType;
+        dirtyCells.mark(cell);
+        if (cellType == CELL_EMPTY) freeCells[regionOf(cell)].add(cell);
+        else freeCells[regionOf(cell)].remove(cell);
+    }
+
+    private void pushHead(SnakeBody body, int cell, byte cellType) {
+        body.pushHead(cell);
+        setCell(cell, cellType);
+    }
+
+    // Bản sao dạng Point (cấp phát mỗi lần gọi); renderer/AI nên dùng getSnakeBody()
+    public List<Point> getSnake() { return toPoints(snake); }
+    public List<Point> getSnake2() { return twoPlayer ? toPoints(snake2) : null; }
+
+    /** Ô đã đổi từ lần vẽ trước; renderer clear() sau mỗi khung hình. */
+    public DirtyCells getDirtyCells() { return dirtyCells; }
+
+    /** Bản chụp tách rời của trạng thái hiện tại - chỉ nơi này mới sao chép. */
+    public BoardSnapshot snapshot() { return new BoardSnapshot(this); }
+
+    @Override public long getVersion() { return version; }
+    @Override public long getLayoutVersion() { return layoutVersion; }
+    @Override public long getTick() { return tick; }
+    @Override public SnakeBody getSnakeBody() { return snake; }
+    @Override public SnakeBody getSnakeBody2() { return snake2; }
+    @Override public Point getFood() { return food; }
+    @Override public Point getFood2() { return food2; }
+    @Override public boolean isGameOver() { return gameOver; }
+    @Override public boolean isBoardFull() { return boardFull; }
+    @Override public int getScore() { return score; }
+    @Override public int getScore2() { return score2; }
+    @Override public boolean isTwoPlayer() { return twoPlayer; }
     public Difficulty getDifficulty() { return difficulty; }
-    public int getBoardWidth() { return boardWidth; }
-    public int getBoardHeight() { return boardHeight; }
-    public Direction getDirection() { return direction; }
-    public Direction getDirection2() { return direction2; }
+    public Collision getCollision() { return collision; }
+    @Override public int getBoardWidth() { return boardWidth; }
+    @Override public int getBoardHeight() { return boardHeight; }
+    @Override public Direction getDirection() { return direction; }
+    @Override public Direction getDirection2() { return direction2; }
 
     public static class Point {
         private int x, y;
@@ -306,8 +458,23 @@ public class GameBoard {
         int midX = boardWidth / 2;
         for (int y = 0; y < boardHeight; y++) {
             wall.add(new Point(midX, y));
+            setCell(cellIndex(midX, y), CELL_WALL);
         }
+        wall = Collections.unmodifiableList(wall);
+    }
+
+    @Override public List<Point> getWall() { return wall; }
+    @Override public Cell getCell(int x, int y) { return CELL_KINDS[grid[cellIndex(x, y)]]; }
+
+    byte[] copyGrid() {
+        return grid.clone();
     }
 
-    public List<Point> getWall() { return wall; }
+    private static List<Point> toPoints(SnakeBody body) {
+        List<Point> points = new ArrayList<>(body.size());
+        for (int i = 0; i < body.size(); i++) {
+            points.add(new Point(body.getX(i), body.getY(i)));
+        }
+        return points;
+    }
 }
@@ -0,0 +1,82 @@
+package com.snakegame.model;
+
+/**
+ * Hàng đợi hướng đi của một người chơi, có giới hạn (CAPACITY lượt rẽ).
+ * Hai phím bấm nhanh trong cùng một tick (UP rồi LEFT để quay gắt) được giữ cả hai,
+ * update() lấy ra đúng một hướng mỗi tick.
+ *
+ * Quay đầu 180° được kiểm tra với hướng cuối cùng trong hàng đợi (hoặc hướng hiện tại nếu rỗng),
+ * nên UP rồi LEFT rồi DOWN là hợp lệ, còn LEFT khi đang đi RIGHT thì bị bỏ.
+ * Mỗi lượt mang thời điểm bấm phím (System.nanoTime()) để đo độ trễ phím → tick.
+ */
+public class InputQueue {
+    static final int CAPACITY = 3;
+
+    private final GameBoard.Direction[] directions = new GameBoard.Direction[CAPACITY];
+    private final long[] timestamps = new long[CAPACITY];
+    private int head;
+    private int size;
+
+    // thống kê độ trễ (ns) từ lúc bấm phím tới tick dùng hướng đó
+    private long consumed;
+    private long dropped; // bị bỏ vì hàng đợi đầy
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+    private long lastLatencyNanos;
+
+    // ========== WRITE (GameBoard) ==========
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /** Thêm hướng mới; false nếu trùng hướng trước, quay đầu 180°, hoặc hàng đợi đã đầy. */
+    boolean offer(GameBoard.Direction direction, GameBoard.Direction current, long timestampNanos) {
+        GameBoard.Direction last = size == 0 ? current : directions[(head + size - 1) % CAPACITY];
+        if (direction == last || isReverse(direction, last)) return false;
+        if (size == CAPACITY) {
+            dropped++;
+            return false;
+        }
+        int slot = (head + size) % CAPACITY;
+        directions[slot] = direction;
+        timestamps[slot] = timestampNanos;
+        size++;
+        return true;
+    }
+
+    /** Hướng cho tick này, hoặc null nếu không có phím nào đang chờ. */
+    GameBoard.Direction poll(long nowNanos) {
+        if (size == 0) return null;
+        GameBoard.Direction d = directions[head];
+        long latency = nowNanos - timestamps[head];
+        head = (head + 1) % CAPACITY;
+        size--;
+
+        consumed++;
+        totalLatencyNanos += latency;
+        lastLatencyNanos = latency;
+        if (latency > maxLatencyNanos) maxLatencyNanos = latency;
+        return d;
+    }
+
+    private static boolean isReverse(GameBoard.Direction a, GameBoard.Direction b) {
+        return switch (a) {
+            case UP -> b == GameBoard.Direction.DOWN;
+            case DOWN -> b == GameBoard.Direction.UP;
+            case LEFT -> b == GameBoard.Direction.RIGHT;
+            case RIGHT -> b == GameBoard.Direction.LEFT;
+        };
+    }
+
+    // ========== READ ==========
+    public int size() { return size; }
+    public long getConsumed() { return consumed; }
+    public long getDropped() { return dropped; }
+    public long getMaxLatencyNanos() { return maxLatencyNanos; }
+    public long getLastLatencyNanos() { return lastLatencyNanos; }
+
+    public double getAverageLatencyMillis() {
+        return consumed == 0 ? 0 : totalLatencyNanos / 1_000_000.0 / consumed;
+    }
+}
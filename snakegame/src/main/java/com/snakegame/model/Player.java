@@ -3,6 +3,9 @@ package com.snakegame.model;
 import java.time.LocalDateTime;
 
 public class Player {
+    /** Độ dài tối đa của tên, khớp cột player_name VARCHAR(50) trong schema.sql. */
+    public static final int MAX_NAME_LENGTH = 50;
+
     private int id;
     private String playerName;
     private int score;
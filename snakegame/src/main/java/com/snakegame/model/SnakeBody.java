@@ -0,0 +1,83 @@
+package com.snakegame.model;
+
+/**
+ * Thân rắn dạng hàng đợi vòng (ring buffer) các ô đã đóng gói thành int:
+ * cell = y * boardWidth + x.
+ * Thêm đầu và bỏ đuôi đều O(1), không cấp phát đối tượng mỗi tick.
+ * Chỉ số 0 là đầu rắn, size() - 1 là đuôi.
+ *
+ * Renderer và AI chỉ đọc qua các accessor theo chỉ số; thao tác ghi là package-private
+ * để chỉ GameBoard thay đổi được thân rắn.
+ */
+public class SnakeBody {
+    private static final int INITIAL_CAPACITY = 16; // luôn là lũy thừa của 2
+
+    private final int boardWidth;
+    private int[] cells;
+    private int mask;
+    private int headPos; // vị trí của đầu rắn trong mảng cells
+    private int size;
+
+    SnakeBody(int boardWidth) {
+        this.boardWidth = boardWidth;
+        this.cells = new int[INITIAL_CAPACITY];
+        this.mask = INITIAL_CAPACITY - 1;
+    }
+
+    // ========== WRITE (GameBoard) ==========
+    void clear() {
+        headPos = 0;
+        size = 0;
+    }
+
+    void pushHead(int cell) {
+        if (size == cells.length) grow();
+        headPos = (headPos - 1) & mask;
+        cells[headPos] = cell;
+        size++;
+    }
+
+    int popTail() {
+        int cell = cells[(headPos + size - 1) & mask];
+        size--;
+        return cell;
+    }
+
+    // bản sao tách rời, dùng cho BoardSnapshot
+    SnakeBody copy() {
+        SnakeBody copy = new SnakeBody(boardWidth);
+        copy.cells = new int[cells.length];
+        copy.mask = mask;
+        for (int i = 0; i < size; i++) {
+            copy.cells[i] = cells[(headPos + i) & mask];
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    private void grow() {
+        int[] bigger = new int[cells.length * 2];
+        for (int i = 0; i < size; i++) {
+            bigger[i] = cells[(headPos + i) & mask];
+        }
+        cells = bigger;
+        mask = bigger.length - 1;
+        headPos = 0;
+    }
+
+    // ========== READ ==========
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    /** Ô thứ i tính từ đầu rắn (0 = đầu). */
+    public int getCell(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+        return cells[(headPos + i) & mask];
+    }
+
+    public int getX(int i) { return getCell(i) % boardWidth; }
+    public int getY(int i) { return getCell(i) / boardWidth; }
+
+    public int getHeadCell() { return getCell(0); }
+    public int getTailCell() { return getCell(size - 1); }
+}
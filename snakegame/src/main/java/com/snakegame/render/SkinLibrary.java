@@ -0,0 +1,323 @@
+package com.snakegame.render;
+
+import com.snakegame.jfr.SkinLoadEvent;
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Danh sách skin và ảnh gốc đã giải mã của từng skin.
+ *
+ * - Skin được tìm một lần: trên classpath (/com/snakegame/assets/skin/, chạy được cả từ thư mục
+ *   lẫn từ jar) và trong thư mục skin ngoài (-Dsnakegame.skinDir, mặc định ./skins).
+ *   Thư mục ngoài và từng thư mục skin con được theo dõi bằng WatchService: thả thư mục skin mới vào
+ *   là nút SKIN thấy ngay, sửa PNG của một skin thì lần dùng sau giải mã lại. Thư mục ngoài chưa có
+ *   lúc khởi động → theo dõi thư mục cha, tạo ra lúc nào thì bắt đầu theo dõi lúc đó.
+ * - PNG được giải mã trên luồng nền "skin-loader", không bao giờ trên luồng JavaFX.
+ * - Ảnh đã giải mã giữ trong cache LRU tối đa MAX_CACHED_SKINS skin.
+ */
+public class SkinLibrary {
+    public static final String DEFAULT_SKIN = "default";
+    private static final String ASSETS_PATH = "/com/snakegame/assets/";
+    private static final String SKIN_PATH = ASSETS_PATH + "skin/";
+    private static final int MAX_CACHED_SKINS = 4;
+
+    private static SkinLibrary instance;
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "skin-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    // luồng skin-watcher thay cả danh sách (không sửa tại chỗ): người đọc luôn thấy một danh sách đầy đủ
+    private volatile List<String> skinNames = List.of(DEFAULT_SKIN);
+    private final Set<String> classpathSkins = new TreeSet<>();
+    private final Path externalDir;
+    // LRU: accessOrder = true, bỏ skin dùng lâu nhất khi vượt giới hạn
+    private final Map<String, Image[]> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image[]> eldest) {
+            return size() > MAX_CACHED_SKINS;
+        }
+    };
+    private final Map<String, CompletableFuture<Image[]>> pending = new HashMap<>();
+    // số lần evict của từng skin: giải mã xong mà skin đã bị evict giữa chừng thì không đưa ảnh cũ vào cache
+    private final Map<String, Long> generations = new HashMap<>();
+    // chỉ dùng trên luồng skin-watcher (và trong startWatcher trước khi luồng chạy)
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<>();
+
+    private SkinLibrary() {
+        externalDir = Path.of(System.getProperty("snakegame.skinDir", "skins")).toAbsolutePath();
+        classpathSkins.addAll(scanClasspath());
+        rebuildNames();
+        startWatcher();
+    }
+
+    public static synchronized SkinLibrary getInstance() {
+        if (instance == null) {
+            instance = new SkinLibrary();
+        }
+        return instance;
+    }
+
+    // ========== DISCOVERY ==========
+    /** "default" đứng đầu, sau đó skin classpath và skin ngoài theo thứ tự tên. Danh sách không đổi (bản chụp). */
+    public List<String> getSkinNames() {
+        return skinNames;
+    }
+
+    private void rebuildNames() {
+        Set<String> names = new TreeSet<>(classpathSkins);
+        names.addAll(scanExternalDir());
+        List<String> result = new ArrayList<>();
+        result.add(DEFAULT_SKIN);
+        names.remove(DEFAULT_SKIN);
+        result.addAll(names);
+        if (!result.equals(skinNames)) skinNames = List.copyOf(result);
+    }
+
+    private Set<String> scanClasspath() {
+        Set<String> names = new TreeSet<>();
+        URL url = SkinLibrary.class.getResource(SKIN_PATH);
+        if (url == null) return names;
+        try {
+            if ("file".equals(url.getProtocol())) {
+                File[] dirs = new File(url.toURI()).listFiles(File::isDirectory);
+                if (dirs != null) for (File d : dirs) names.add(d.getName());
+            } else if ("jar".equals(url.getProtocol())) {
+                // trong jar không liệt kê thư mục được → duyệt các entry có tiền tố SKIN_PATH
+                JarURLConnection conn = (JarURLConnection) url.openConnection();
+                conn.setUseCaches(false);
+                String prefix = SKIN_PATH.substring(1);
+                try (JarFile jar = conn.getJarFile()) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (!name.startsWith(prefix)) continue;
+                        String rest = name.substring(prefix.length());
+                        int slash = rest.indexOf('/');
+                        if (slash > 0) names.add(rest.substring(0, slash));
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("⚠️ Không đọc được danh sách skin trên classpath: " + e.getMessage());
+        }
+        return names;
+    }
+
+    private Set<String> scanExternalDir() {
+        Set<String> names = new TreeSet<>();
+        File[] dirs = externalDir.toFile().listFiles(File::isDirectory);
+        if (dirs != null) for (File d : dirs) names.add(d.getName());
+        return names;
+    }
+
+    private void startWatcher() {
+        Path parent = externalDir.getParent();
+        try {
+            WatchService watcher = FileSystems.getDefault().newWatchService();
+            if (Files.isDirectory(externalDir)) {
+                registerSkinTree(watcher);
+            } else if (parent != null && Files.isDirectory(parent)) {
+                watch(watcher, parent, StandardWatchEventKinds.ENTRY_CREATE);
+            } else {
+                watcher.close();
+                return;
+            }
+            Thread t = new Thread(() -> watchLoop(watcher), "skin-watcher");
+            t.setDaemon(true);
+            t.start();
+        } catch (IOException e) {
+            System.err.println("⚠️ Không theo dõi được thư mục skin " + externalDir + ": " + e.getMessage());
+        }
+    }
+
+    // thư mục ngoài (thêm / xóa skin) và mọi thư mục skin con (sửa / thêm / xóa PNG)
+    private void registerSkinTree(WatchService watcher) throws IOException {
+        watch(watcher, externalDir, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        File[] dirs = externalDir.toFile().listFiles(File::isDirectory);
+        if (dirs != null) for (File d : dirs) watchSkin(watcher, d.toPath());
+    }
+
+    private void watchSkin(WatchService watcher, Path skinDir) throws IOException {
+        watch(watcher, skinDir, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private void watch(WatchService watcher, Path dir, WatchEvent.Kind<?>... kinds) throws IOException {
+        watchedDirs.put(dir.register(watcher, kinds), dir);
+    }
+
+    private void watchLoop(WatchService watcher) {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Path dir = watchedDirs.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (dir != null) onWatchEvent(watcher, dir, event);
+                }
+                rebuildNames();
+                if (!key.reset()) {
+                    // thư mục đã bị xóa: thư mục ngoài bị xóa thì chờ nó được tạo lại trong thư mục cha
+                    watchedDirs.remove(key);
+                    if (externalDir.equals(dir)) watchParent(watcher);
+                    if (watchedDirs.isEmpty()) return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onWatchEvent(WatchService watcher, Path dir, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            // mất sự kiện → không biết skin nào đổi, bỏ hết ảnh của skin ngoài
+            for (String skin : scanExternalDir()) evict(skin);
+            return;
+        }
+        if (!(event.context() instanceof Path)) return;
+        Path name = (Path) event.context();
+        try {
+            if (externalDir.equals(dir)) {
+                // skin mới / bị xóa / đổi tên
+                evict(name.toString());
+                Path skinDir = dir.resolve(name);
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(skinDir)) {
+                    watchSkin(watcher, skinDir);
+                }
+            } else if (externalDir.getParent() != null && externalDir.getParent().equals(dir)) {
+                // thư mục cha: chỉ quan tâm lúc thư mục skin ngoài được tạo
+                if (name.equals(externalDir.getFileName()) && Files.isDirectory(externalDir)
+                        && !watchedDirs.containsValue(externalDir)) {
+                    registerSkinTree(watcher);
+                    for (String skin : scanExternalDir()) evict(skin);
+                }
+            } else {
+                // một PNG trong skin bị sửa / thêm / xóa → bỏ ảnh cũ, lần dùng sau giải mã lại
+                evict(dir.getFileName().toString());
+            }
+        } catch (IOException e) {
+            System.err.println("⚠️ Không theo dõi được " + dir.resolve(name) + ": " + e.getMessage());
+        }
+    }
+
+    private void watchParent(WatchService watcher) {
+        Path parent = externalDir.getParent();
+        if (parent == null || watchedDirs.containsValue(parent)) return;
+        try {
+            watch(watcher, parent, StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            System.err.println("⚠️ Không theo dõi được thư mục " + parent + ": " + e.getMessage());
+        }
+    }
+
+    // ========== LOADING ==========
+    /** Ảnh gốc của skin nếu đã giải mã xong (theo Sprite.ordinal(), null = thiếu sprite), ngược lại null. */
+    public synchronized Image[] getIfLoaded(String skin) {
+        return cache.get(skin);
+    }
+
+    /** Giải mã skin trên luồng nền; gọi nhiều lần cho cùng một skin chỉ giải mã một lần. */
+    public synchronized CompletableFuture<Image[]> load(String skin) {
+        Image[] cached = cache.get(skin);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        CompletableFuture<Image[]> future = pending.get(skin);
+        if (future == null) {
+            long generation = generations.getOrDefault(skin, 0L);
+            // supplier chờ khóa của load() → luôn chạy sau pending.put bên dưới
+            future = CompletableFuture.supplyAsync(() -> {
+                Image[] images = null;
+                try {
+                    images = decode(skin);
+                    return images;
+                } finally {
+                    synchronized (SkinLibrary.this) {
+                        // bị evict trong lúc giải mã: ảnh có thể là bản cũ, và pending đã thuộc lần nạp mới
+                        if (generations.getOrDefault(skin, 0L) == generation) {
+                            pending.remove(skin);
+                            if (images != null) cache.put(skin, images);
+                        }
+                    }
+                }
+            }, loader);
+            pending.put(skin, future);
+        }
+        return future;
+    }
+
+    private synchronized void evict(String skin) {
+        cache.remove(skin);
+        pending.remove(skin); // lần load() sau giải mã lại thay vì nhận kết quả đang giải mã dở
+        generations.merge(skin, 1L, Long::sum);
+    }
+
+    private Image[] decode(String skin) {
+        SkinLoadEvent event = new SkinLoadEvent(); // thời gian giải mã: xem event snakegame.SkinLoad (JFR)
+        event.begin();
+        int missing = 0;
+        Sprite[] sprites = Sprite.values();
+        Image[] result = new Image[sprites.length];
+        for (Sprite sprite : sprites) {
+            String n = sprite.getFileName();
+            Image img = null;
+            if (!DEFAULT_SKIN.equals(skin)) {
+                File external = externalDir.resolve(skin).resolve(n).toFile();
+                if (external.isFile()) img = new Image(external.toURI().toString());
+                else img = readClasspath(SKIN_PATH + skin + "/" + n);
+            }
+            // skin thiếu ảnh → dùng ảnh của skin mặc định
+            if (img == null) img = readClasspath(ASSETS_PATH + n);
+
+            if (img != null && !img.isError()) {
+                result[sprite.ordinal()] = img;
+            } else {
+                missing++;
+                System.out.println("⚠️ Không thể tải ảnh: " + skin + "/" + n);
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.skin = skin;
+            event.images = sprites.length - missing;
+            event.missing = missing;
+            event.commit();
+        }
+        return result;
+    }
+
+    private static Image readClasspath(String path) {
+        try (InputStream is = SkinLibrary.class.getResourceAsStream(path)) {
+            return is != null ? new Image(is) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.snakegame.render;
+
+/**
+ * Các sprite của một skin. Thứ tự enum = vị trí trong atlas, nên tra cứu chỉ là một phép nhân.
+ */
+public enum Sprite {
+    APPLE("apple.png"),
+    HEAD_UP("head_up.png"),
+    HEAD_DOWN("head_down.png"),
+    HEAD_LEFT("head_left.png"),
+    HEAD_RIGHT("head_right.png"),
+    TAIL_UP("tail_up.png"),
+    TAIL_DOWN("tail_down.png"),
+    TAIL_LEFT("tail_left.png"),
+    TAIL_RIGHT("tail_right.png"),
+    BODY_HORIZONTAL("body_horizontal.png"),
+    BODY_VERTICAL("body_vertical.png"),
+    BODY_TOPLEFT("body_topleft.png"),
+    BODY_TOPRIGHT("body_topright.png"),
+    BODY_BOTTOMLEFT("body_bottomleft.png"),
+    BODY_BOTTOMRIGHT("body_bottomright.png");
+
+    private final String fileName;
+
+    Sprite(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
@@ -0,0 +1,60 @@
+package com.snakegame.render;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Tất cả sprite của một skin xếp thành một hàng trong một ảnh, đã thu phóng sẵn về spriteSize px.
+ * Vẽ một sprite = chép một ô vuông từ atlas với kích thước 1:1, không thu phóng lại mỗi lần vẽ.
+ *
+ * Tạo atlas cần snapshot nên phải gọi trên JavaFX Application Thread.
+ */
+public final class SpriteAtlas {
+    private final Image[] sources;
+    private final int spriteSize;
+    private final WritableImage image;
+    private final boolean[] present = new boolean[Sprite.values().length];
+
+    /** sources: ảnh gốc theo Sprite.ordinal(), phần tử null = skin thiếu sprite đó. */
+    SpriteAtlas(Image[] sources, int spriteSize) {
+        this.sources = sources;
+        this.spriteSize = spriteSize;
+        Sprite[] sprites = Sprite.values();
+        Canvas canvas = new Canvas((double) sprites.length * spriteSize, spriteSize);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        for (Sprite s : sprites) {
+            Image src = sources[s.ordinal()];
+            if (src == null) continue;
+            g.drawImage(src, s.ordinal() * spriteSize, 0, spriteSize, spriteSize);
+            present[s.ordinal()] = true;
+        }
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        this.image = canvas.snapshot(params, null);
+    }
+
+    public int getSpriteSize() {
+        return spriteSize;
+    }
+
+    // skin được giải mã lại (file đổi) → mảng nguồn mới → atlas cũ không dùng được nữa
+    boolean isBuiltFrom(Image[] sources) {
+        return this.sources == sources;
+    }
+
+    public boolean has(Sprite sprite) {
+        return present[sprite.ordinal()];
+    }
+
+    /** Vẽ sprite với góc trên-trái tại (x, y); trả về false nếu skin không có sprite này. */
+    public boolean draw(GraphicsContext gc, Sprite sprite, double x, double y) {
+        if (!present[sprite.ordinal()]) return false;
+        gc.drawImage(image, sprite.ordinal() * spriteSize, 0, spriteSize, spriteSize,
+                x, y, spriteSize, spriteSize);
+        return true;
+    }
+}
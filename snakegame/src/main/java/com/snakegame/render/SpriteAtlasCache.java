@@ -0,0 +1,34 @@
+package com.snakegame.render;
+
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Atlas đã thu phóng theo (skin, cỡ sprite), giữ tối đa MAX_ATLASES atlas dùng gần nhất.
+ * Quay lại một skin / cỡ ô đã dùng thì lấy lại atlas cũ, không thu phóng lại.
+ * Chỉ dùng trên luồng JavaFX (tạo atlas cần snapshot).
+ */
+public class SpriteAtlasCache {
+    private static final int MAX_ATLASES = 8;
+
+    private final Map<String, SpriteAtlas> atlases = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SpriteAtlas> eldest) {
+            return size() > MAX_ATLASES;
+        }
+    };
+
+    /** sources: ảnh gốc theo Sprite.ordinal() (xem SkinLibrary); đổi mảng nguồn thì atlas được tạo lại. */
+    public SpriteAtlas get(String skin, Image[] sources, int spriteSize) {
+        spriteSize = Math.max(1, spriteSize);
+        String key = skin + "@" + spriteSize;
+        SpriteAtlas atlas = atlases.get(key);
+        if (atlas == null || !atlas.isBuiltFrom(sources)) {
+            atlas = new SpriteAtlas(sources, spriteSize);
+            atlases.put(key, atlas);
+        }
+        return atlas;
+    }
+}
@@ -0,0 +1,125 @@
+package com.snakegame.sim;
+
+import com.snakegame.model.BoardView;
+import com.snakegame.model.GameBoard;
+import com.snakegame.model.SnakeBody;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Chạy GameBoard không cần JavaFX: không có Timeline, mỗi bước là một update() ngay lập tức.
+ * Dùng để đánh giá bot và chạy hồi quy trên máy CI không có màn hình.
+ * Cùng seed + cùng InputSource → cùng trạng thái bàn (so bằng stateHash()).
+ */
+public class HeadlessRunner {
+    private final GameBoard board;
+    private final InputSource input;
+    private long lastStepNanos;
+    private int lastStepTicks;
+
+    public HeadlessRunner(GameBoard board, InputSource input) {
+        this.board = board;
+        this.input = input;
+    }
+
+    public HeadlessRunner(GameBoard.Difficulty difficulty, boolean twoPlayer, long seed, InputSource input) {
+        this(new GameBoard(difficulty, twoPlayer, seed), input);
+    }
+
+    /** Chạy tối đa ticks bước, nhanh nhất có thể; dừng sớm khi game over. Trả về số bước đã chạy. */
+    public int stepN(int ticks) {
+        long start = System.nanoTime();
+        int done = 0;
+        while (done < ticks && !board.isGameOver()) {
+            step();
+            done++;
+        }
+        lastStepNanos = System.nanoTime() - start;
+        lastStepTicks = done;
+        return done;
+    }
+
+    private void step() {
+        long next = board.getTick() + 1;
+        GameBoard.Direction d1 = input.nextDirection(1, next, board);
+        if (d1 != null) board.setDirection(d1);
+        if (board.isTwoPlayer()) {
+            GameBoard.Direction d2 = input.nextDirection(2, next, board);
+            if (d2 != null) board.setDirectionP2(d2);
+        }
+        board.update();
+    }
+
+    /** Tốc độ của lần stepN() gần nhất. */
+    public double getTicksPerSecond() {
+        return lastStepNanos == 0 ? 0 : lastStepTicks * 1_000_000_000.0 / lastStepNanos;
+    }
+
+    public GameBoard getBoard() {
+        return board;
+    }
+
+    /** Băm toàn bộ trạng thái có ý nghĩa của bàn, để so sánh hai lần chạy. */
+    public static long stateHash(BoardView board) {
+        long h = 1125899906842597L;
+        h = 31 * h + board.getTick();
+        h = 31 * h + board.getScore();
+        h = 31 * h + board.getScore2();
+        h = 31 * h + (board.isGameOver() ? 1 : 0);
+        h = 31 * h + (board.getDirection() == null ? -1 : board.getDirection().ordinal());
+        h = 31 * h + (board.getDirection2() == null ? -1 : board.getDirection2().ordinal());
+        h = 31 * h + pointHash(board.getFood());
+        h = 31 * h + pointHash(board.getFood2());
+        h = 31 * h + bodyHash(board.getSnakeBody());
+        h = 31 * h + bodyHash(board.getSnakeBody2());
+        if (board.getObstacles() != null) {
+            for (GameBoard.Point p : board.getObstacles()) h = 31 * h + pointHash(p);
+        }
+        return h;
+    }
+
+    private static long pointHash(GameBoard.Point p) {
+        return p == null ? -1 : p.hashCode();
+    }
+
+    private static long bodyHash(SnakeBody body) {
+        if (body == null) return -1;
+        long h = body.size();
+        for (int i = 0; i < body.size(); i++) h = 31 * h + body.getCell(i);
+        return h;
+    }
+
+    // ========== CLI ==========
+    // java -cp target/classes com.snakegame.sim.HeadlessRunner --seed=42 --ticks=1000000 [--difficulty=HARD] [--two-player] [--script=input.txt]
+    public static void main(String[] args) throws IOException {
+        GameBoard.Difficulty difficulty = GameBoard.Difficulty.MEDIUM;
+        boolean twoPlayer = false;
+        long seed = 1;
+        int ticks = 100_000;
+        InputSource input = InputSource.NONE;
+
+        for (String arg : args) {
+            if (arg.startsWith("--difficulty=")) difficulty = GameBoard.Difficulty.valueOf(value(arg).toUpperCase());
+            else if (arg.equals("--two-player")) twoPlayer = true;
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(value(arg));
+            else if (arg.startsWith("--ticks=")) ticks = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--script=")) input = ScriptedInput.load(Path.of(value(arg)));
+            else {
+                System.err.println("Tham số không hợp lệ: " + arg);
+                System.exit(2);
+            }
+        }
+
+        HeadlessRunner runner = new HeadlessRunner(difficulty, twoPlayer, seed, input);
+        int done = runner.stepN(ticks);
+        GameBoard board = runner.getBoard();
+        System.out.printf("ticks=%d gameOver=%b score=%d score2=%d tps=%.0f hash=%016x%n",
+                done, board.isGameOver(), board.getScore(), board.getScore2(),
+                runner.getTicksPerSecond(), stateHash(board));
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,20 @@
+package com.snakegame.sim;
+
+import com.snakegame.model.BoardView;
+import com.snakegame.model.GameBoard;
+
+/**
+ * Nguồn điều khiển cho mô phỏng headless: kịch bản cố định, bot, ...
+ * Được hỏi trước mỗi tick, cho từng người chơi.
+ */
+public interface InputSource {
+    /**
+     * @param player 1 hoặc 2
+     * @param tick   số tick sắp chạy (bắt đầu từ 1)
+     * @return hướng mới, hoặc null nếu giữ nguyên
+     */
+    GameBoard.Direction nextDirection(int player, long tick, BoardView board);
+
+    /** Không bấm phím nào: rắn đi thẳng. */
+    InputSource NONE = (player, tick, board) -> null;
+}
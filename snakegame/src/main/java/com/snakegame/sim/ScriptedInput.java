@@ -0,0 +1,50 @@
+package com.snakegame.sim;
+
+import com.snakegame.model.BoardView;
+import com.snakegame.model.GameBoard;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kịch bản phím bấm theo tick, mỗi dòng một lệnh: "tick player direction", ví dụ "12 1 UP".
+ * Dòng trống và dòng bắt đầu bằng '#' được bỏ qua.
+ */
+public class ScriptedInput implements InputSource {
+    private final Map<Long, GameBoard.Direction> p1 = new HashMap<>();
+    private final Map<Long, GameBoard.Direction> p2 = new HashMap<>();
+
+    public ScriptedInput at(long tick, int player, GameBoard.Direction direction) {
+        (player == 2 ? p2 : p1).put(tick, direction);
+        return this;
+    }
+
+    @Override
+    public GameBoard.Direction nextDirection(int player, long tick, BoardView board) {
+        return (player == 2 ? p2 : p1).get(tick);
+    }
+
+    public static ScriptedInput parse(Iterable<String> lines) {
+        ScriptedInput script = new ScriptedInput();
+        int lineNo = 0;
+        for (String raw : lines) {
+            lineNo++;
+            String line = raw.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Dòng " + lineNo + " không hợp lệ: " + raw);
+            }
+            script.at(Long.parseLong(parts[0]), Integer.parseInt(parts[1]),
+                    GameBoard.Direction.valueOf(parts[2].toUpperCase()));
+        }
+        return script;
+    }
+
+    public static ScriptedInput load(Path file) throws IOException {
+        return parse(Files.readAllLines(file));
+    }
+}
@@ -0,0 +1,243 @@
+package com.snakegame.database;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConnectionPool với JDBC giả dựng bằng java.lang.reflect.Proxy: không cần MySQL hay driver nhúng.
+ */
+class ConnectionPoolTest {
+
+    // ========== JDBC GIẢ ==========
+    /** Một kết nối giả; các cờ điều khiển isValid() và ghi lại những gì pool đã gọi. */
+    static final class FakeConnection {
+        volatile boolean valid = true;
+        volatile boolean closed;
+        final AtomicInteger prepared = new AtomicInteger();
+        final AtomicInteger clearedParameters = new AtomicInteger();
+        final List<FakeStatement> statements = new ArrayList<>();
+        final Connection proxy = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (p, method, args) -> {
+                    switch (method.getName()) {
+                        case "isValid": return valid && !closed;
+                        case "isClosed": return closed;
+                        case "close":
+                            closed = true;
+                            for (FakeStatement s : statements) s.closed = true;
+                            return null;
+                        case "prepareStatement":
+                            prepared.incrementAndGet();
+                            FakeStatement s = new FakeStatement(this);
+                            statements.add(s);
+                            return s.proxy;
+                        case "hashCode": return System.identityHashCode(p);
+                        case "equals": return p == args[0];
+                        case "toString": return "FakeConnection@" + System.identityHashCode(p);
+                        default: throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    static final class FakeStatement {
+        volatile boolean closed;
+        final PreparedStatement proxy;
+
+        FakeStatement(FakeConnection owner) {
+            proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, (p, method, args) -> {
+                        switch (method.getName()) {
+                            case "isClosed": return closed;
+                            case "close":
+                                closed = true;
+                                return null;
+                            case "clearParameters":
+                                owner.clearedParameters.incrementAndGet();
+                                return null;
+                            case "hashCode": return System.identityHashCode(p);
+                            case "equals": return p == args[0];
+                            case "toString": return "FakeStatement@" + System.identityHashCode(p);
+                            default: throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+
+    /** Nguồn kết nối giả: ghi lại mọi kết nối đã mở, có thể cho lần mở kế tiếp thất bại. */
+    static final class FakeFactory implements ConnectionFactory {
+        final List<FakeConnection> opened = new ArrayList<>();
+        final AtomicInteger attempts = new AtomicInteger();
+        volatile boolean failing;
+
+        @Override
+        public synchronized Connection create() throws SQLException {
+            attempts.incrementAndGet();
+            if (failing) throw new SQLException("Connection refused");
+            FakeConnection c = new FakeConnection();
+            opened.add(c);
+            return c.proxy;
+        }
+    }
+
+    // ========== BORROW ==========
+    @Test
+    void returnedConnectionIsReused() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        try (ConnectionPool pool = new ConnectionPool(factory, 2, 1, 100)) {
+            Connection first;
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                first = pc.getConnection();
+                assertEquals(1, pool.getActiveCount());
+            }
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                assertSame(first, pc.getConnection());
+            }
+            assertEquals(1, pool.getConnectsOpened());
+            assertEquals(0, pool.getActiveCount());
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void borrowTimesOutWhenPoolIsExhausted() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        try (ConnectionPool pool = new ConnectionPool(factory, 1, 1, 50)) {
+            ConnectionPool.PooledConnection held = pool.borrow();
+
+            long start = System.nanoTime();
+            SQLException e = assertThrows(SQLException.class, pool::borrow);
+            long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(e.getMessage().contains("50 ms"), e.getMessage());
+            assertTrue(waitedMillis >= 40, "chờ " + waitedMillis + " ms");
+            assertEquals(1, factory.attempts.get()); // hết chỗ thì không mở thêm kết nối
+
+            // trả lại → lần mượn sau được ngay, không rò permit vì lần chờ hết giờ
+            held.close();
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                assertSame(factory.opened.get(0).proxy, pc.getConnection());
+            }
+            assertEquals(0, pool.getActiveCount());
+        }
+    }
+
+    @Test
+    void closingTwiceReturnsConnectionOnce() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        try (ConnectionPool pool = new ConnectionPool(factory, 1, 1, 50)) {
+            ConnectionPool.PooledConnection pc = pool.borrow();
+            pc.close();
+            pc.close();
+            assertEquals(1, pool.getIdleCount());
+            assertEquals(0, pool.getActiveCount());
+        }
+    }
+
+    // ========== VALIDATION ==========
+    @Test
+    void invalidIdleConnectionIsDiscardedOnBorrow() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        try (ConnectionPool pool = new ConnectionPool(factory, 2, 1, 100)) {
+            pool.borrow().close();
+            FakeConnection dead = factory.opened.get(0);
+            dead.valid = false; // server đã đóng kết nối rảnh
+
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                assertNotSame(dead.proxy, pc.getConnection());
+                assertSame(factory.opened.get(1).proxy, pc.getConnection());
+            }
+            assertTrue(dead.closed);
+            assertEquals(1, pool.getInvalidDiscarded());
+            assertEquals(2, pool.getConnectsOpened());
+            assertEquals(1, pool.getIdleCount()); // kết nối chết không quay lại pool
+        }
+    }
+
+    // ========== BACKOFF ==========
+    @Test
+    void failedConnectBacksOffBeforeRetrying() throws Exception {
+        FakeFactory factory = new FakeFactory();
+        factory.failing = true;
+        try (ConnectionPool pool = new ConnectionPool(factory, 2, 1, 100)) {
+            SQLException refused = assertThrows(SQLException.class, pool::borrow);
+            assertEquals("Connection refused", refused.getMessage());
+            assertEquals(1, pool.getConnectFailures());
+
+            // trong thời gian backoff: báo lỗi ngay, không gọi tới factory
+            factory.failing = false;
+            long start = System.nanoTime();
+            SQLException backingOff = assertThrows(SQLException.class, pool::borrow);
+            assertTrue((System.nanoTime() - start) / 1_000_000 < 100, "borrow() không được treo khi đang backoff");
+            assertTrue(backingOff.getMessage().contains("thử lại sau"), backingOff.getMessage());
+            assertEquals(1, factory.attempts.get());
+            assertEquals(0, pool.getActiveCount()); // lần lỗi trả lại permit
+
+            // hết backoff (500 ms lần đầu) → mở lại được, backoff về 0
+            Thread.sleep(600);
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                assertSame(factory.opened.get(0).proxy, pc.getConnection());
+            }
+            assertEquals(2, factory.attempts.get());
+            assertEquals(1, pool.getConnectsOpened());
+        }
+    }
+
+    // ========== STATEMENT CACHE ==========
+    @Test
+    void preparedStatementsAreCachedPerConnection() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        String sql = "SELECT player_name, score FROM high_scores WHERE mode = ?";
+        try (ConnectionPool pool = new ConnectionPool(factory, 1, 1, 100)) {
+            PreparedStatement first;
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                first = pc.prepare(sql);
+                assertSame(first, pc.prepare(sql));
+                assertNotSame(first, pc.prepare("SELECT 1"));
+            }
+            // mượn lại cùng kết nối: statement vẫn dùng lại được qua các lần mượn
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                assertSame(first, pc.prepare(sql));
+            }
+            FakeConnection c = factory.opened.get(0);
+            assertEquals(2, c.prepared.get());
+            assertEquals(2, c.clearedParameters.get()); // tham số cũ bị xóa mỗi lần dùng lại
+        }
+    }
+
+    @Test
+    void closedStatementIsPreparedAgain() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        try (ConnectionPool pool = new ConnectionPool(factory, 1, 1, 100)) {
+            try (ConnectionPool.PooledConnection pc = pool.borrow()) {
+                PreparedStatement stmt = pc.prepare("SELECT 1");
+                stmt.close();
+                PreparedStatement again = pc.prepare("SELECT 1");
+                assertNotSame(stmt, again);
+                assertFalse(again.isClosed());
+            }
+            assertEquals(2, factory.opened.get(0).prepared.get());
+        }
+    }
+
+    @Test
+    void closedPoolClosesIdleConnections() throws SQLException {
+        FakeFactory factory = new FakeFactory();
+        ConnectionPool pool = new ConnectionPool(factory, 1, 1, 100);
+        pool.borrow().close();
+        pool.close();
+        assertTrue(factory.opened.get(0).closed);
+        assertThrows(SQLException.class, pool::borrow);
+    }
+}